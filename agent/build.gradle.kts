@@ -0,0 +1,49 @@
+import com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar
+
+plugins {
+    id("java-common-conventions")
+    id("java-publishing-conventions")
+    id("clocks-conventions")
+    id("com.github.johnrengelman.shadow") version "7.1.2" apply false
+}
+
+description = "Java agent redirecting legacy time calls to a java.time.Clock"
+
+clocks {
+    javaModuleName.set("com.timgroup.clocks.agent")
+}
+
+dependencies {
+    implementation("org.ow2.asm:asm:9.7.1")
+    testImplementation(project(":testing"))
+    testImplementation("junit:junit:4.13.2")
+    testImplementation("org.hamcrest:hamcrest-core:2.2")
+    testImplementation("org.hamcrest:hamcrest-library:2.2")
+}
+
+val agentManifestAttributes = mapOf(
+    "Premain-Class" to "com.timgroup.clocks.agent.ClockAgent",
+    "Agent-Class" to "com.timgroup.clocks.agent.ClockAgent"
+)
+
+tasks.named<Jar>("jar") {
+    manifest {
+        attributes(agentManifestAttributes)
+    }
+}
+
+// self-contained jar for use with -javaagent, with ASM relocated so as not to clash with any the application uses
+val agentJar by tasks.registering(ShadowJar::class) {
+    archiveClassifier.set("agent")
+    manifest {
+        attributes(agentManifestAttributes)
+    }
+    from(sourceSets.main.map { it.output })
+    configurations = listOf(project.configurations.runtimeClasspath.get())
+    relocate("org.objectweb.asm", "com.timgroup.clocks.agent.asm")
+    exclude("META-INF/maven/**", "META-INF/versions/**", "module-info.class")
+}
+
+tasks.named("assemble") {
+    dependsOn(agentJar)
+}
@@ -0,0 +1,30 @@
+package com.timgroup.clocks.agent;
+
+import java.lang.instrument.Instrumentation;
+
+/**
+ * Java agent that redirects legacy time calls to {@link TimeRedirect}.
+ * <p>
+ * Use with {@code -javaagent:clocks-agent-VERSION-agent.jar}, optionally with a
+ * comma-separated list of package prefixes to limit instrumentation to, e.g.
+ * {@code -javaagent:clocks-agent.jar=com.example,org.legacy}. Only classes loaded
+ * after the agent is installed are instrumented, and JDK classes never are.
+ *
+ * @see RedirectingTransformer
+ */
+public final class ClockAgent {
+    private ClockAgent() {
+    }
+
+    public static void premain(String agentArgs, Instrumentation instrumentation) {
+        install(agentArgs, instrumentation);
+    }
+
+    public static void agentmain(String agentArgs, Instrumentation instrumentation) {
+        install(agentArgs, instrumentation);
+    }
+
+    public static void install(String agentArgs, Instrumentation instrumentation) {
+        instrumentation.addTransformer(new RedirectingTransformer(RedirectingTransformer.parsePackages(agentArgs)));
+    }
+}
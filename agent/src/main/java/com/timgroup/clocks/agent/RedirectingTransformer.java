@@ -0,0 +1,171 @@
+package com.timgroup.clocks.agent;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Rewrites calls to {@code System.currentTimeMillis()}, {@code Instant.now()} and
+ * {@code new Date()} into calls to {@link TimeRedirect}.
+ * <p>
+ * {@code new Date()} is rewritten to {@code new Date(TimeRedirect.currentTimeMillis())},
+ * by replacing only the constructor call. Method references such as
+ * {@code System::currentTimeMillis}, {@code Instant::now} and {@code Date::new} are
+ * redirected by replacing the method handles passed to their bootstrap methods.
+ * Classes containing none of these calls or references are left untouched.
+ */
+public final class RedirectingTransformer implements ClassFileTransformer {
+    private static final String REDIRECT = "com/timgroup/clocks/agent/TimeRedirect";
+    private static final Handle SYSTEM_MILLIS = new Handle(Opcodes.H_INVOKESTATIC, "java/lang/System", "currentTimeMillis", "()J", false);
+    private static final Handle INSTANT_NOW = new Handle(Opcodes.H_INVOKESTATIC, "java/time/Instant", "now", "()Ljava/time/Instant;", false);
+    private static final Handle NEW_DATE = new Handle(Opcodes.H_NEWINVOKESPECIAL, "java/util/Date", "<init>", "()V", false);
+    // the agent jar relocates ASM into the agent's own package, so it is excluded with it
+    private static final String[] EXCLUDED_PREFIXES = {
+            "java/", "javax/", "jdk/", "sun/", "com/sun/", "com/timgroup/clocks/agent/"
+    };
+
+    private final List<String> includedPrefixes;
+
+    /**
+     * @param includedPackages package prefixes to instrument, or empty to instrument all non-JDK classes
+     */
+    public RedirectingTransformer(List<String> includedPackages) {
+        List<String> prefixes = new ArrayList<>();
+        for (String includedPackage : includedPackages) {
+            prefixes.add(requireNonNull(includedPackage).replace('.', '/'));
+        }
+        this.includedPrefixes = Collections.unmodifiableList(prefixes);
+    }
+
+    static List<String> parsePackages(String agentArgs) {
+        List<String> packages = new ArrayList<>();
+        if (agentArgs != null) {
+            for (String arg : agentArgs.split(",")) {
+                if (!arg.trim().isEmpty()) {
+                    packages.add(arg.trim());
+                }
+            }
+        }
+        return packages;
+    }
+
+    @Override
+    public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined,
+                            ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+        if (loader == null || className == null || !shouldInstrument(className)) {
+            return null;
+        }
+        try {
+            return rewrite(classfileBuffer);
+        } catch (RuntimeException e) {
+            // never let a failure to instrument prevent the class from loading
+            return null;
+        }
+    }
+
+    private boolean shouldInstrument(String className) {
+        for (String excluded : EXCLUDED_PREFIXES) {
+            if (className.startsWith(excluded)) {
+                return false;
+            }
+        }
+        if (includedPrefixes.isEmpty()) {
+            return true;
+        }
+        for (String included : includedPrefixes) {
+            if (className.startsWith(included)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param classfileBuffer class file to rewrite
+     * @return the rewritten class file, or null if there were no calls to rewrite
+     */
+    static byte[] rewrite(byte[] classfileBuffer) {
+        ClassReader reader = new ClassReader(classfileBuffer);
+        ClassWriter writer = new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+        RedirectingClassVisitor visitor = new RedirectingClassVisitor(writer);
+        reader.accept(visitor, 0);
+        return visitor.rewritten ? writer.toByteArray() : null;
+    }
+
+    private static final class RedirectingClassVisitor extends ClassVisitor {
+        boolean rewritten;
+
+        RedirectingClassVisitor(ClassVisitor classVisitor) {
+            super(Opcodes.ASM9, classVisitor);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            return new MethodVisitor(Opcodes.ASM9, super.visitMethod(access, name, descriptor, signature, exceptions)) {
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String methodName, String methodDescriptor, boolean isInterface) {
+                    if (opcode == Opcodes.INVOKESTATIC && owner.equals("java/lang/System")
+                            && methodName.equals("currentTimeMillis") && methodDescriptor.equals("()J")) {
+                        rewritten = true;
+                        super.visitMethodInsn(Opcodes.INVOKESTATIC, REDIRECT, "currentTimeMillis", "()J", false);
+                    }
+                    else if (opcode == Opcodes.INVOKESTATIC && owner.equals("java/time/Instant")
+                            && methodName.equals("now") && methodDescriptor.equals("()Ljava/time/Instant;")) {
+                        rewritten = true;
+                        super.visitMethodInsn(Opcodes.INVOKESTATIC, REDIRECT, "instantNow", "()Ljava/time/Instant;", false);
+                    }
+                    else if (opcode == Opcodes.INVOKESPECIAL && owner.equals("java/util/Date")
+                            && methodName.equals("<init>") && methodDescriptor.equals("()V")) {
+                        rewritten = true;
+                        super.visitMethodInsn(Opcodes.INVOKESTATIC, REDIRECT, "currentTimeMillis", "()J", false);
+                        super.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/util/Date", "<init>", "(J)V", false);
+                    }
+                    else {
+                        super.visitMethodInsn(opcode, owner, methodName, methodDescriptor, isInterface);
+                    }
+                }
+
+                @Override
+                public void visitInvokeDynamicInsn(String indyName, String indyDescriptor, Handle bootstrapMethodHandle, Object... bootstrapMethodArguments) {
+                    Object[] arguments = bootstrapMethodArguments;
+                    for (int i = 0; i < arguments.length; i++) {
+                        Handle redirected = redirect(arguments[i]);
+                        if (redirected != null) {
+                            if (arguments == bootstrapMethodArguments) {
+                                arguments = bootstrapMethodArguments.clone();
+                            }
+                            arguments[i] = redirected;
+                            rewritten = true;
+                        }
+                    }
+                    super.visitInvokeDynamicInsn(indyName, indyDescriptor, bootstrapMethodHandle, arguments);
+                }
+            };
+        }
+    
+        // the handle of an equivalent TimeRedirect method, or null if the argument is not a time handle
+        private static Handle redirect(Object bootstrapMethodArgument) {
+            if (SYSTEM_MILLIS.equals(bootstrapMethodArgument)) {
+                return new Handle(Opcodes.H_INVOKESTATIC, REDIRECT, "currentTimeMillis", "()J", false);
+            }
+            if (INSTANT_NOW.equals(bootstrapMethodArgument)) {
+                return new Handle(Opcodes.H_INVOKESTATIC, REDIRECT, "instantNow", "()Ljava/time/Instant;", false);
+            }
+            if (NEW_DATE.equals(bootstrapMethodArgument)) {
+                return new Handle(Opcodes.H_INVOKESTATIC, REDIRECT, "newDate", "()Ljava/util/Date;", false);
+            }
+            return null;
+        }
+    }
+}
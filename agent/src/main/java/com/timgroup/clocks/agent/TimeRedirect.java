@@ -0,0 +1,114 @@
+package com.timgroup.clocks.agent;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Target of the calls rewritten by {@link ClockAgent}.
+ * <p>
+ * While no clock is registered, these methods simply call the system clock, at
+ * the cost of one volatile read. While a clock is registered, instrumented code
+ * reads the time from it instead:
+ * <pre>
+ *   ManualClock clock = ManualClock.createDefault();
+ *   try (TimeRedirect.Registration r = TimeRedirect.redirectTo(clock)) {
+ *       clock.bumpSeconds(60);
+ *       // System.currentTimeMillis() etc. in instrumented code see the manual clock
+ *   }
+ * </pre>
+ * If the registered clock itself reads the time through instrumented code, for example
+ * a clock whose {@code millis()} calls {@code System.currentTimeMillis()}, those nested
+ * reads go to the system clock rather than recursing.
+ */
+public final class TimeRedirect {
+    private static volatile Clock clock;
+    // set while the current thread is reading the registered clock
+    private static final ThreadLocal<boolean[]> READING = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    private TimeRedirect() {
+    }
+
+    /**
+     * Register a clock for instrumented code to read from, replacing any already registered.
+     *
+     * @param newClock clock to read from
+     * @return a registration that removes the clock again when closed
+     */
+    public static Registration redirectTo(Clock newClock) {
+        clock = requireNonNull(newClock);
+        return new Registration(newClock);
+    }
+
+    /**
+     * Remove any registered clock, so that instrumented code reads the system clock again.
+     */
+    public static void reset() {
+        clock = null;
+    }
+
+    /**
+     * @return the registered clock, or null if there is none
+     */
+    public static Clock getClock() {
+        return clock;
+    }
+
+    public static long currentTimeMillis() {
+        Clock current = clock;
+        if (current == null) {
+            return System.currentTimeMillis();
+        }
+        boolean[] reading = READING.get();
+        if (reading[0]) {
+            return System.currentTimeMillis();
+        }
+        reading[0] = true;
+        try {
+            return current.millis();
+        } finally {
+            reading[0] = false;
+        }
+    }
+
+    public static Instant instantNow() {
+        Clock current = clock;
+        if (current == null) {
+            return Instant.now();
+        }
+        boolean[] reading = READING.get();
+        if (reading[0]) {
+            return Instant.now();
+        }
+        reading[0] = true;
+        try {
+            return current.instant();
+        } finally {
+            reading[0] = false;
+        }
+    }
+
+    /**
+     * @return a new date at the current time, the target of {@code Date::new} method references
+     */
+    public static Date newDate() {
+        return new Date(currentTimeMillis());
+    }
+
+    public static final class Registration implements AutoCloseable {
+        private final Clock registered;
+
+        private Registration(Clock registered) {
+            this.registered = registered;
+        }
+
+        @Override
+        public void close() {
+            if (clock == registered) {
+                clock = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.timgroup.clocks.agent;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Fixture using legacy time calls, to be instrumented by tests.
+ */
+public class LegacyTimeUser {
+    public static long millis() {
+        return System.currentTimeMillis();
+    }
+
+    public static Instant instant() {
+        return Instant.now();
+    }
+
+    public static Date date() {
+        return new Date();
+    }
+
+    public static Date dateOrNull(boolean wanted) {
+        return wanted ? new Date() : null;
+    }
+
+    public static Supplier<Long> millisLater() {
+        return System::currentTimeMillis;
+    }
+
+    public static LongSupplier millisSupplier() {
+        return System::currentTimeMillis;
+    }
+
+    public static Supplier<Instant> instantLater() {
+        return Instant::now;
+    }
+
+    public static Supplier<Date> dateLater() {
+        return Date::new;
+    }
+
+    public static Date fixedDate() {
+        return new Date(0L);
+    }
+}
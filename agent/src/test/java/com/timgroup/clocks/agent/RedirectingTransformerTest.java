@@ -0,0 +1,171 @@
+package com.timgroup.clocks.agent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Date;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.After;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+public class RedirectingTransformerTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+
+    @After
+    public void reset() {
+        TimeRedirect.reset();
+    }
+
+    @Test
+    public void redirects_legacy_calls_to_registered_clock() throws Exception {
+        Class<?> instrumented = instrumentedFixture();
+        try (TimeRedirect.Registration ignored = TimeRedirect.redirectTo(clock)) {
+            clock.bumpSeconds(60);
+            assertThat(call(instrumented, "millis"), equalTo(Instant.parse("2016-08-26T18:31:00Z").toEpochMilli()));
+            assertThat(call(instrumented, "instant"), equalTo(Instant.parse("2016-08-26T18:31:00Z")));
+            assertThat(call(instrumented, "date"), equalTo(Date.from(Instant.parse("2016-08-26T18:31:00Z"))));
+            assertThat(call(instrumented, "fixedDate"), equalTo(new Date(0L)));
+        }
+    }
+
+    @Test
+    public void redirects_constructor_call_within_expression() throws Exception {
+        Class<?> instrumented = instrumentedFixture();
+        TimeRedirect.redirectTo(clock);
+        Method method = instrumented.getMethod("dateOrNull", boolean.class);
+        assertThat(method.invoke(null, true), equalTo(Date.from(Instant.parse("2016-08-26T18:30:00Z"))));
+        assertThat(method.invoke(null, false), nullValue());
+    }
+
+    @Test
+    public void uses_system_clock_when_no_clock_registered() throws Exception {
+        Class<?> instrumented = instrumentedFixture();
+        try (TimeRedirect.Registration ignored = TimeRedirect.redirectTo(clock)) {
+            assertThat(call(instrumented, "millis"), equalTo(clock.millis()));
+        }
+        assertThat(TimeRedirect.getClock(), nullValue());
+        assertThat(call(instrumented, "millis"), not(equalTo(clock.millis())));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void redirects_method_references() throws Exception {
+        Class<?> instrumented = instrumentedFixture();
+        TimeRedirect.redirectTo(clock);
+        clock.bumpSeconds(60);
+        assertThat(((Supplier<Long>) call(instrumented, "millisLater")).get(), equalTo(clock.millis()));
+        assertThat(((LongSupplier) call(instrumented, "millisSupplier")).getAsLong(), equalTo(clock.millis()));
+        assertThat(((Supplier<Instant>) call(instrumented, "instantLater")).get(), equalTo(clock.instant()));
+        assertThat(((Supplier<Date>) call(instrumented, "dateLater")).get(), equalTo(Date.from(clock.instant())));
+    }
+
+    @Test
+    public void nested_reads_by_registered_clock_use_system_clock() throws Exception {
+        Class<?> instrumented = instrumentedFixture();
+        Clock reentrant = new Clock() {
+            @Override
+            public Instant instant() {
+                return ((Instant) callUnchecked(instrumented, "instant")).plusMillis(1);
+            }
+
+            @Override
+            public long millis() {
+                return (Long) callUnchecked(instrumented, "millis") + 1;
+            }
+
+            @Override
+            public ZoneId getZone() {
+                return UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+        };
+        TimeRedirect.redirectTo(reentrant);
+        long before = System.currentTimeMillis();
+        long millis = (Long) call(instrumented, "millis");
+        long instantMillis = ((Instant) call(instrumented, "instant")).toEpochMilli();
+        long after = System.currentTimeMillis();
+        assertThat(millis, greaterThan(before));
+        assertThat(millis, lessThanOrEqualTo(after + 1));
+        assertThat(instantMillis, greaterThan(before));
+        assertThat(instantMillis, lessThanOrEqualTo(after + 1));
+    }
+
+    @Test
+    public void does_not_rewrite_classes_without_time_calls() throws Exception {
+        assertThat(RedirectingTransformer.rewrite(classBytes(TimeRedirect.Registration.class)), nullValue());
+    }
+
+    @Test
+    public void does_not_instrument_excluded_or_unlisted_packages() throws Exception {
+        byte[] bytes = classBytes(LegacyTimeUser.class);
+        RedirectingTransformer onlyOthers = new RedirectingTransformer(Collections.singletonList("org.example"));
+        assertThat(onlyOthers.transform(getClass().getClassLoader(), "com/timgroup/clocks/agent/LegacyTimeUser", null, null, bytes), nullValue());
+        RedirectingTransformer all = new RedirectingTransformer(Collections.emptyList());
+        assertThat(all.transform(getClass().getClassLoader(), "java/util/Date", null, null, bytes), nullValue());
+    }
+
+    private static Object call(Class<?> target, String methodName) throws Exception {
+        return target.getMethod(methodName).invoke(null);
+    }
+
+    private static Object callUnchecked(Class<?> target, String methodName) {
+        try {
+            return call(target, methodName);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Class<?> instrumentedFixture() throws IOException, ClassNotFoundException {
+        byte[] rewritten = RedirectingTransformer.rewrite(classBytes(LegacyTimeUser.class));
+        ClassLoader loader = new ClassLoader(RedirectingTransformerTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (name.equals(LegacyTimeUser.class.getName())) {
+                    synchronized (getClassLoadingLock(name)) {
+                        Class<?> loaded = findLoadedClass(name);
+                        if (loaded == null) {
+                            loaded = defineClass(name, rewritten, 0, rewritten.length);
+                        }
+                        return loaded;
+                    }
+                }
+                return super.loadClass(name, resolve);
+            }
+        };
+        return loader.loadClass(LegacyTimeUser.class.getName());
+    }
+
+    private static byte[] classBytes(Class<?> type) throws IOException {
+        String resource = "/" + type.getName().replace('.', '/') + ".class";
+        try (InputStream input = type.getResourceAsStream(resource)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = input.read(buffer)) > 0) {
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        }
+    }
+}
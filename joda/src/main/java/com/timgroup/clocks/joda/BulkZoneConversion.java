@@ -0,0 +1,179 @@
+package com.timgroup.clocks.joda;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.joda.time.DateTimeZone;
+
+import static java.util.Objects.requireNonNull;
+import static org.joda.time.DateTimeConstants.MILLIS_PER_DAY;
+import static org.joda.time.DateTimeConstants.MILLIS_PER_MINUTE;
+
+/**
+ * Conversion of arrays of epoch millis to local dates and times in a zone.
+ * <p>
+ * Rather than looking up the zone offset for every element, as constructing a
+ * {@code LocalDate} would, the offset is looked up once and reused for as long as
+ * the timestamps fall between the same pair of zone transitions. This is most
+ * effective for sorted or clustered input, but is correct for any input. Finding the
+ * transitions costs two further lookups, so where the input keeps crossing them
+ * (e.g. unsorted timestamps either side of a daylight saving change), the offset is
+ * looked up directly for each element instead, until the input settles again.
+ * <p>
+ * The parallel variants split very large arrays into chunks converted on the
+ * common fork/join pool.
+ *
+ * @see JodaClock#toDateTimeZone
+ */
+public final class BulkZoneConversion {
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+
+    private BulkZoneConversion() {
+    }
+
+    /**
+     * @param epochMillis instants to convert
+     * @param zone zone to convert in
+     * @return the local date of each instant, as days since 1970-01-01
+     */
+    public static int[] toEpochDays(long[] epochMillis, DateTimeZone zone) {
+        int[] result = new int[epochMillis.length];
+        convert(epochMillis, zone, result, Field.EPOCH_DAY, 0, epochMillis.length);
+        return result;
+    }
+
+    /**
+     * @param epochMillis instants to convert
+     * @param zone zone to convert in
+     * @return the local time of each instant, as minutes since midnight
+     */
+    public static int[] toMinuteOfDay(long[] epochMillis, DateTimeZone zone) {
+        int[] result = new int[epochMillis.length];
+        convert(epochMillis, zone, result, Field.MINUTE_OF_DAY, 0, epochMillis.length);
+        return result;
+    }
+
+    /**
+     * @param epochMillis instants to convert
+     * @param zone zone to convert in
+     * @return the local time of each instant, as milliseconds since 1970-01-01T00:00 local time
+     */
+    public static long[] toLocalMillis(long[] epochMillis, DateTimeZone zone) {
+        long[] result = new long[epochMillis.length];
+        OffsetRange range = new OffsetRange(zone);
+        for (int i = 0; i < epochMillis.length; i++) {
+            result[i] = epochMillis[i] + range.offsetAt(epochMillis[i]);
+        }
+        return result;
+    }
+
+    public static int[] toEpochDaysParallel(long[] epochMillis, DateTimeZone zone) {
+        int[] result = new int[epochMillis.length];
+        ForkJoinPool.commonPool().invoke(new ConvertTask(epochMillis, zone, result, Field.EPOCH_DAY, 0, epochMillis.length));
+        return result;
+    }
+
+    public static int[] toMinuteOfDayParallel(long[] epochMillis, DateTimeZone zone) {
+        int[] result = new int[epochMillis.length];
+        ForkJoinPool.commonPool().invoke(new ConvertTask(epochMillis, zone, result, Field.MINUTE_OF_DAY, 0, epochMillis.length));
+        return result;
+    }
+
+    private static void convert(long[] epochMillis, DateTimeZone zone, int[] result, Field field, int from, int to) {
+        OffsetRange range = new OffsetRange(zone);
+        for (int i = from; i < to; i++) {
+            long localMillis = epochMillis[i] + range.offsetAt(epochMillis[i]);
+            result[i] = field == Field.EPOCH_DAY
+                    ? Math.toIntExact(Math.floorDiv(localMillis, (long) MILLIS_PER_DAY))
+                    : (int) (Math.floorMod(localMillis, (long) MILLIS_PER_DAY) / MILLIS_PER_MINUTE);
+        }
+    }
+
+    private enum Field {
+        EPOCH_DAY, MINUTE_OF_DAY
+    }
+
+    /**
+     * Zone offset, and the range of instants it is valid for.
+     * <p>
+     * Refreshing the range costs three zone lookups, so when more than a third of a
+     * sample of reads miss it, the rest of the sample reads the offset directly.
+     */
+    private static final class OffsetRange {
+        private static final int SAMPLE_SIZE = 4096;
+        private static final int MIN_SAMPLE_SIZE = 64;
+        private static final int LOOKUPS_PER_REFRESH = 3;
+
+        private final DateTimeZone zone;
+        private long validFrom = Long.MAX_VALUE;
+        private long validUntil = Long.MIN_VALUE;
+        private int offset;
+        private int reads;
+        private int misses;
+        private boolean direct;
+
+        OffsetRange(DateTimeZone zone) {
+            this.zone = requireNonNull(zone);
+            if (zone.isFixed()) {
+                validFrom = Long.MIN_VALUE;
+                validUntil = Long.MAX_VALUE;
+                offset = zone.getOffset(0L);
+            }
+        }
+
+        int offsetAt(long millis) {
+            if (++reads == SAMPLE_SIZE) {
+                reads = 0;
+                misses = 0;
+                direct = false;
+            }
+            if (millis >= validFrom && millis < validUntil) {
+                return offset;
+            }
+            if (direct) {
+                return zone.getOffset(millis);
+            }
+            if (++misses * LOOKUPS_PER_REFRESH > reads && reads >= MIN_SAMPLE_SIZE) {
+                direct = true;
+                return zone.getOffset(millis);
+            }
+            offset = zone.getOffset(millis);
+            long previous = zone.previousTransition(millis);
+            validFrom = previous >= millis ? Long.MIN_VALUE : previous + 1;
+            long next = zone.nextTransition(millis);
+            validUntil = next <= millis ? Long.MAX_VALUE : next;
+            return offset;
+        }
+    }
+
+    private static final class ConvertTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] epochMillis;
+        private final DateTimeZone zone;
+        private final int[] result;
+        private final Field field;
+        private final int from;
+        private final int to;
+
+        ConvertTask(long[] epochMillis, DateTimeZone zone, int[] result, Field field, int from, int to) {
+            this.epochMillis = epochMillis;
+            this.zone = zone;
+            this.result = result;
+            this.field = field;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK_SIZE) {
+                convert(epochMillis, zone, result, field, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ConvertTask(epochMillis, zone, result, field, from, middle),
+                    new ConvertTask(epochMillis, zone, result, field, middle, to));
+        }
+    }
+}
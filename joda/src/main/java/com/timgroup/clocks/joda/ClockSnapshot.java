@@ -0,0 +1,113 @@
+package com.timgroup.clocks.joda;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The time and zone of a clock, read once.
+ * <p>
+ * All the derived values are computed lazily from the same captured millis and
+ * zone, and memoised, so they are always consistent with each other: for example,
+ * {@link #today()} is always the date of {@link #nowDateTime()}.
+ * <p>
+ * Instances may be shared between threads; at worst a derived value is computed
+ * more than once.
+ *
+ * @see JodaClock#snapshot()
+ */
+public final class ClockSnapshot {
+    private final long millis;
+    private final DateTimeZone timeZone;
+
+    private org.joda.time.Instant jodaInstant;
+    private DateTime dateTime;
+    private LocalDateTime localDateTime;
+    private LocalDate localDate;
+    private java.time.Instant instant;
+    private ZonedDateTime zonedDateTime;
+
+    ClockSnapshot(long millis, DateTimeZone timeZone) {
+        this.millis = millis;
+        this.timeZone = requireNonNull(timeZone);
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    public DateTimeZone getDateTimeZone() {
+        return timeZone;
+    }
+
+    public ZoneId getZone() {
+        return JodaClock.toZoneId(timeZone);
+    }
+
+    public org.joda.time.Instant now() {
+        org.joda.time.Instant result = jodaInstant;
+        if (result == null) {
+            jodaInstant = result = new org.joda.time.Instant(millis);
+        }
+        return result;
+    }
+
+    public DateTime nowDateTime() {
+        DateTime result = dateTime;
+        if (result == null) {
+            dateTime = result = new DateTime(millis, timeZone);
+        }
+        return result;
+    }
+
+    public LocalDateTime nowLocal() {
+        LocalDateTime result = localDateTime;
+        if (result == null) {
+            localDateTime = result = new LocalDateTime(millis, timeZone);
+        }
+        return result;
+    }
+
+    public LocalDate today() {
+        LocalDate result = localDate;
+        if (result == null) {
+            localDate = result = new LocalDate(millis, timeZone);
+        }
+        return result;
+    }
+
+    public java.time.Instant instant() {
+        java.time.Instant result = instant;
+        if (result == null) {
+            instant = result = java.time.Instant.ofEpochMilli(millis);
+        }
+        return result;
+    }
+
+    public ZonedDateTime zonedDateTime() {
+        ZonedDateTime result = zonedDateTime;
+        if (result == null) {
+            zonedDateTime = result = ZonedDateTime.ofInstant(instant(), getZone());
+        }
+        return result;
+    }
+
+    public java.time.LocalDateTime localDateTime() {
+        return zonedDateTime().toLocalDateTime();
+    }
+
+    public java.time.LocalDate localDate() {
+        return zonedDateTime().toLocalDate();
+    }
+
+    @Override
+    public String toString() {
+        return "ClockSnapshot[" + now() + "," + timeZone + "]";
+    }
+}
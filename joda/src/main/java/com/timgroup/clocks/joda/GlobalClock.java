@@ -0,0 +1,183 @@
+package com.timgroup.clocks.joda;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.time.Clock;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Process-wide clock, which is the system clock unless another clock has been installed.
+ * <p>
+ * The time source is held as the target of a call site, rather than in a field, so
+ * the JIT compiler sees a constant target and can inline the call: while the system
+ * clock is installed, reading this clock costs no more than
+ * {@link System#currentTimeMillis()}. Installing another clock (e.g. a latchable
+ * clock in a staging environment) re-links the call site, deoptimising code that
+ * has inlined the previous target, so swapping should be rare.
+ * <p>
+ * Unlike {@link JodaClock#getDefault()}, this clock does not consult Joda-Time's
+ * overridable current millis provider. While the system clock is installed, the
+ * zone is Joda-Time's default zone.
+ * <p>
+ * An installed clock that itself reads from the global clock (e.g. a zoned view of it,
+ * or a monotonic clock wrapping it) sees the system clock when it does so, rather than
+ * recursing.
+ */
+public final class GlobalClock extends JodaClock {
+    public static final GlobalClock INSTANCE = new GlobalClock();
+
+    private static final MethodHandle SYSTEM_MILLIS;
+    private static final MethodHandle CLOCK_MILLIS;
+    private static final MutableCallSite MILLIS_SITE;
+    private static final MethodHandle MILLIS;
+    // set while the current thread is reading the installed clock
+    private static final ThreadLocal<boolean[]> READING = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SYSTEM_MILLIS = lookup.findStatic(System.class, "currentTimeMillis", MethodType.methodType(long.class));
+            CLOCK_MILLIS = lookup.findStatic(GlobalClock.class, "installedMillis", MethodType.methodType(long.class, JodaClock.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        MILLIS_SITE = new MutableCallSite(SYSTEM_MILLIS);
+        MILLIS = MILLIS_SITE.dynamicInvoker();
+    }
+
+    private volatile JodaClock installed;
+
+    private GlobalClock() {
+    }
+
+    /**
+     * Make the global clock read from the given clock.
+     *
+     * @param clock clock to read from
+     */
+    public synchronized void install(Clock clock) {
+        JodaClock jodaClock = JodaClock.using(clock);
+        if (jodaClock == this || jodaClock instanceof ZoneOverridden) {
+            throw new IllegalArgumentException("Cannot install the global clock in itself");
+        }
+        installed = jodaClock;
+        relink(CLOCK_MILLIS.bindTo(jodaClock));
+    }
+
+    /**
+     * Make the global clock read from the system clock again.
+     */
+    public synchronized void reset() {
+        installed = null;
+        relink(SYSTEM_MILLIS);
+    }
+
+    /**
+     * @return the installed clock, or null if the system clock is in use
+     */
+    public JodaClock getInstalled() {
+        return installed;
+    }
+
+    private static long installedMillis(JodaClock clock) {
+        boolean[] reading = READING.get();
+        if (reading[0]) {
+            return System.currentTimeMillis();
+        }
+        reading[0] = true;
+        try {
+            return clock.millis();
+        } finally {
+            reading[0] = false;
+        }
+    }
+
+    private static void relink(MethodHandle target) {
+        MILLIS_SITE.setTarget(target);
+        MutableCallSite.syncAll(new MutableCallSite[] { MILLIS_SITE });
+    }
+
+    @Override
+    public long millis() {
+        try {
+            return (long) MILLIS.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Instant now() {
+        return new Instant(millis());
+    }
+
+    @Override
+    public DateTimeZone getDateTimeZone() {
+        JodaClock current = installed;
+        if (current == null) {
+            return DateTimeZone.getDefault();
+        }
+        boolean[] reading = READING.get();
+        if (reading[0]) {
+            return DateTimeZone.getDefault();
+        }
+        reading[0] = true;
+        try {
+            return current.getDateTimeZone();
+        } finally {
+            reading[0] = false;
+        }
+    }
+
+    @Override
+    public JodaClock withZone(DateTimeZone jodaTimeZone) {
+        return new ZoneOverridden(jodaTimeZone);
+    }
+
+    @Override
+    public String toString() {
+        JodaClock current = installed;
+        return "GlobalClock[" + (current == null ? "system" : current) + "]";
+    }
+
+    private static final class ZoneOverridden extends JodaClock {
+        private final DateTimeZone zone;
+
+        ZoneOverridden(DateTimeZone zone) {
+            this.zone = requireNonNull(zone);
+        }
+
+        @Override
+        public long millis() {
+            return INSTANCE.millis();
+        }
+
+        @Override
+        public Instant now() {
+            return new Instant(millis());
+        }
+
+        @Override
+        public DateTimeZone getDateTimeZone() {
+            return zone;
+        }
+
+        @Override
+        public JodaClock withZone(DateTimeZone jodaTimeZone) {
+            return INSTANCE.withZone(jodaTimeZone);
+        }
+
+        @Override
+        public String toString() {
+            return INSTANCE + "{zone:" + zone + "}";
+        }
+    }
+}
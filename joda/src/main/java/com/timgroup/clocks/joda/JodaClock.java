@@ -2,7 +2,9 @@ package com.timgroup.clocks.joda;
 
 import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeZone;
+import org.joda.time.MutableDateTime;
 import org.joda.time.ReadableInstant;
+import org.joda.time.chrono.ISOChronology;
 
 import java.time.Clock;
 import java.time.Instant;
@@ -10,6 +12,9 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 
 import static java.util.Objects.requireNonNull;
+import static org.joda.time.DateTimeConstants.MILLIS_PER_DAY;
+import static org.joda.time.DateTimeConstants.MILLIS_PER_HOUR;
+import static org.joda.time.DateTimeConstants.MILLIS_PER_MINUTE;
 import static org.joda.time.DateTimeConstants.MILLIS_PER_SECOND;
 
 /**
@@ -25,6 +30,9 @@ import static org.joda.time.DateTimeConstants.MILLIS_PER_SECOND;
  * that is compatible with Joda-Time types' default constructors.
  */
 public abstract class JodaClock extends Clock {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
     public static JodaClock getDefault() {
         return JodaCompatibleClock.DEFAULT_ZONE;
     }
@@ -36,6 +44,21 @@ public abstract class JodaClock extends Clock {
         return new Delegating(clock);
     }
 
+    /**
+     * Wrap a clock so that repeated reads within the same millisecond return the same
+     * instant objects, rather than allocating new ones.
+     *
+     * @param clock clock to wrap
+     * @return a clock returning the same values as the given clock
+     */
+    public static JodaClock memoising(Clock clock) {
+        JodaClock jodaClock = using(clock);
+        if (jodaClock instanceof MemoisingJodaClock) {
+            return jodaClock;
+        }
+        return new MemoisingJodaClock(jodaClock);
+    }
+
     public static JodaClock fixed(ReadableInstant instant, DateTimeZone timeZone) {
         return new FixedJodaClock(instant.toInstant(), timeZone);
     }
@@ -58,6 +81,42 @@ public abstract class JodaClock extends Clock {
         return DateTimeZone.forID(zoneId.getId());
     }
 
+    /**
+     * Load and initialise the given zones, and the default zone, now rather than when
+     * they are first used.
+     * <p>
+     * Joda-Time's zone provider already loads each zone lazily, when first referenced.
+     * This only moves that work to a time of the caller's choosing, e.g. before a
+     * service starts taking requests; it does not reduce it.
+     *
+     * @param zoneIds zones to load
+     */
+    public static void preloadZones(Iterable<? extends ZoneId> zoneIds) {
+        long now = System.currentTimeMillis();
+        preload(DateTimeZone.getDefault(), now);
+        for (ZoneId zoneId : zoneIds) {
+            preload(toDateTimeZone(zoneId), now);
+        }
+    }
+
+    /**
+     * @param zoneIds IDs of zones to load
+     * @see #preloadZones(Iterable)
+     */
+    public static void preloadZones(String... zoneIds) {
+        long now = System.currentTimeMillis();
+        preload(DateTimeZone.getDefault(), now);
+        for (String zoneId : zoneIds) {
+            preload(toDateTimeZone(ZoneId.of(zoneId)), now);
+        }
+    }
+
+    private static void preload(DateTimeZone zone, long now) {
+        ISOChronology.getInstance(zone);
+        zone.getOffset(now);
+        zone.nextTransition(now);
+    }
+
     public abstract org.joda.time.Instant now();
 
     @Override
@@ -65,11 +124,29 @@ public abstract class JodaClock extends Clock {
         return now().getMillis();
     }
 
+    /**
+     * Get the current instant, at the best precision available from this clock.
+     * <p>
+     * Joda-Time clocks only have millisecond precision, but clocks wrapping a JSR310
+     * clock will pass through its full precision.
+     *
+     * @return the current instant
+     */
     @Override
-    public final Instant instant() {
+    public Instant instant() {
         return Instant.ofEpochMilli(millis());
     }
 
+    /**
+     * Get the current instant as nanoseconds since the epoch, at the same precision as {@link #instant()}.
+     *
+     * @return nanoseconds since 1970-01-01T00:00:00Z
+     * @throws ArithmeticException if the current instant is outside the range of a long (years 1677 to 2262)
+     */
+    public long epochNanos() {
+        return Math.multiplyExact(millis(), NANOS_PER_MILLI);
+    }
+
     public final org.joda.time.DateTime nowDateTime() {
         return new org.joda.time.DateTime(millis(), getDateTimeZone());
     }
@@ -82,6 +159,95 @@ public abstract class JodaClock extends Clock {
         return new org.joda.time.LocalDate(millis(), getDateTimeZone());
     }
 
+    /**
+     * Read the current time and zone once, so that several values can be derived
+     * consistently from them.
+     *
+     * @return a snapshot of this clock
+     */
+    public final ClockSnapshot snapshot() {
+        long millis = millis();
+        return new ClockSnapshot(millis, getDateTimeZone());
+    }
+
+    /**
+     * Set the given mutable date-time to the current instant and zone of this clock.
+     *
+     * @param target date-time to update
+     * @return the target, for chaining
+     */
+    public final MutableDateTime nowInto(MutableDateTime target) {
+        target.setMillis(millis());
+        target.setZone(getDateTimeZone());
+        return target;
+    }
+
+    /**
+     * @param formatter formatter to use
+     * @return the current time formatted in this clock's zone
+     * @see JodaTimestampFormatter
+     */
+    public final String nowFormatted(JodaTimestampFormatter formatter) {
+        return formatter.format(millis(), getDateTimeZone());
+    }
+
+    /**
+     * Append the current time, formatted in this clock's zone, without allocating.
+     *
+     * @param formatter formatter to use
+     * @param out builder to append to
+     */
+    public final void nowFormatted(JodaTimestampFormatter formatter, StringBuilder out) {
+        formatter.formatTo(millis(), getDateTimeZone(), out);
+    }
+
+    /**
+     * Write the current time, formatted in this clock's zone, as UTF-8 without allocating.
+     *
+     * @param formatter formatter to use
+     * @param buffer buffer to write into
+     * @param offset position in the buffer to start writing at
+     * @return number of bytes written
+     */
+    public final int nowFormatted(JodaTimestampFormatter formatter, byte[] buffer, int offset) {
+        return formatter.formatTo(millis(), getDateTimeZone(), buffer, offset);
+    }
+
+    /**
+     * @return the current hour of day (0-23) in this clock's zone
+     */
+    public final int currentHourOfDay() {
+        return (int) (Math.floorMod(currentLocalMillis(), (long) MILLIS_PER_DAY) / MILLIS_PER_HOUR);
+    }
+
+    /**
+     * @return the current minute of day (0-1439) in this clock's zone
+     */
+    public final int currentMinuteOfDay() {
+        return (int) (Math.floorMod(currentLocalMillis(), (long) MILLIS_PER_DAY) / MILLIS_PER_MINUTE);
+    }
+
+    /**
+     * @return the current ISO day of week (Monday = 1, Sunday = 7) in this clock's zone
+     * @see DateTimeConstants#MONDAY
+     */
+    public final int currentDayOfWeek() {
+        // epoch day 0 (1970-01-01) was a Thursday
+        return (int) Math.floorMod(currentEpochDay() + 3, 7L) + 1;
+    }
+
+    /**
+     * @return the number of days since 1970-01-01 of the current local date in this clock's zone
+     */
+    public final long currentEpochDay() {
+        return Math.floorDiv(currentLocalMillis(), (long) MILLIS_PER_DAY);
+    }
+
+    private long currentLocalMillis() {
+        long millis = millis();
+        return millis + getDateTimeZone().getOffset(millis);
+    }
+
     public abstract JodaClock withZone(DateTimeZone jodaTimeZone);
 
     public final JodaClock withUTC() {
@@ -106,6 +272,7 @@ public abstract class JodaClock extends Clock {
 
     private static final class Delegating extends JodaClock {
         private final Clock clock;
+        private ZoneMapping zoneMapping;
 
         Delegating(Clock clock) {
             this.clock = requireNonNull(clock);
@@ -121,9 +288,25 @@ public abstract class JodaClock extends Clock {
             return clock.millis();
         }
 
+        @Override
+        public Instant instant() {
+            return clock.instant();
+        }
+
+        @Override
+        public long epochNanos() {
+            Instant instant = clock.instant();
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        }
+
         @Override
         public DateTimeZone getDateTimeZone() {
-            return toDateTimeZone(clock.getZone());
+            ZoneId zoneId = clock.getZone();
+            ZoneMapping mapping = zoneMapping;
+            if (mapping == null || !mapping.zoneId.equals(zoneId)) {
+                zoneMapping = mapping = new ZoneMapping(zoneId, toDateTimeZone(zoneId));
+            }
+            return mapping.timeZone;
         }
 
         @Override
@@ -140,5 +323,15 @@ public abstract class JodaClock extends Clock {
         public String toString() {
             return "JodaClock:" + clock;
         }
+
+        private static final class ZoneMapping {
+            final ZoneId zoneId;
+            final DateTimeZone timeZone;
+
+            ZoneMapping(ZoneId zoneId, DateTimeZone timeZone) {
+                this.zoneId = zoneId;
+                this.timeZone = timeZone;
+            }
+        }
     }
 }
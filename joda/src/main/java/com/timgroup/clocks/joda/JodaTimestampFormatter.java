@@ -0,0 +1,175 @@
+package com.timgroup.clocks.joda;
+
+import java.nio.charset.StandardCharsets;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Formats timestamps for hot paths such as logging, reusing the formatted text for the current second.
+ * <p>
+ * The formatter is only invoked once per second (and zone): the millisecond digits are then patched
+ * into the cached text on each call, which is written into a caller-supplied {@link StringBuilder}
+ * or byte array without allocating. Formats that print the fraction of second in some other way
+ * than as up to three plain digits (or not at all) are detected, and formatted in full every time.
+ * <p>
+ * The cached text is an immutable value replaced without locking, so a formatter may be shared
+ * between threads; concurrent callers may occasionally format the same second redundantly.
+ * <p>
+ * The timing module's {@code SecondCachingFormatter} does the same for any printer; this class
+ * has its own copy so that the joda module depends on nothing but Joda-Time.
+ *
+ * @see JodaClock#nowFormatted(JodaTimestampFormatter, StringBuilder)
+ */
+public final class JodaTimestampFormatter {
+    private static final int PROBE_MILLIS = 987;
+
+    private final DateTimeFormatter formatter;
+    private Second cached;
+
+    private JodaTimestampFormatter(DateTimeFormatter formatter) {
+        this.formatter = requireNonNull(formatter);
+    }
+
+    public static JodaTimestampFormatter of(DateTimeFormatter formatter) {
+        return new JodaTimestampFormatter(formatter);
+    }
+
+    public static JodaTimestampFormatter forPattern(String pattern) {
+        return new JodaTimestampFormatter(DateTimeFormat.forPattern(pattern));
+    }
+
+    public String format(long epochMillis, DateTimeZone zone) {
+        Second second = secondOf(epochMillis, zone);
+        if (second.text == null) {
+            return formatFully(epochMillis, zone);
+        }
+        StringBuilder out = new StringBuilder(second.text.length);
+        second.appendTo(out, (int) (epochMillis - second.startMillis));
+        return out.toString();
+    }
+
+    public void formatTo(long epochMillis, DateTimeZone zone, StringBuilder out) {
+        Second second = secondOf(epochMillis, zone);
+        if (second.text == null) {
+            out.append(formatFully(epochMillis, zone));
+            return;
+        }
+        second.appendTo(out, (int) (epochMillis - second.startMillis));
+    }
+
+    /**
+     * @param epochMillis instant to format
+     * @param zone zone to format in
+     * @param buffer buffer to write UTF-8 text into
+     * @param offset position in the buffer to start writing at
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the buffer is too small
+     */
+    public int formatTo(long epochMillis, DateTimeZone zone, byte[] buffer, int offset) {
+        Second second = secondOf(epochMillis, zone);
+        if (second.text == null) {
+            byte[] bytes = formatFully(epochMillis, zone).getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+            return bytes.length;
+        }
+        return second.writeTo(buffer, offset, (int) (epochMillis - second.startMillis));
+    }
+
+    private Second secondOf(long epochMillis, DateTimeZone zone) {
+        long startMillis = Math.floorDiv(epochMillis, 1000L) * 1000L;
+        Second second = cached;
+        if (second == null || second.startMillis != startMillis || (second.zone != zone && !second.zone.equals(zone))) {
+            cached = second = new Second(startMillis, zone);
+        }
+        return second;
+    }
+
+    private String formatFully(long epochMillis, DateTimeZone zone) {
+        return formatter.withZone(zone).print(epochMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "JodaTimestampFormatter[" + formatter + "]";
+    }
+
+    private final class Second {
+        final long startMillis;
+        final DateTimeZone zone;
+        // null if the millis can't be patched in
+        final char[] text;
+        final byte[] bytes;
+        final int digitsAt;
+        final int bytesDigitsAt;
+        final int digitCount;
+
+        Second(long startMillis, DateTimeZone zone) {
+            this.startMillis = startMillis;
+            this.zone = zone;
+            DateTimeFormatter zoned = formatter.withZone(zone);
+            String base = zoned.print(startMillis);
+            String probe = zoned.print(startMillis + PROBE_MILLIS);
+            int first = 0;
+            int last = -1;
+            boolean patchable = base.length() == probe.length();
+            if (patchable) {
+                first = base.length();
+                for (int i = 0; i < base.length(); i++) {
+                    if (base.charAt(i) != probe.charAt(i)) {
+                        first = Math.min(first, i);
+                        last = i;
+                    }
+                }
+                int count = last - first + 1;
+                patchable = count <= 3;
+                for (int i = 0; patchable && i < count; i++) {
+                    patchable = base.charAt(first + i) == '0' && probe.charAt(first + i) == digit(PROBE_MILLIS, i);
+                }
+            }
+            if (patchable) {
+                this.text = base.toCharArray();
+                this.bytes = base.getBytes(StandardCharsets.UTF_8);
+                this.digitsAt = first;
+                this.bytesDigitsAt = base.substring(0, first).getBytes(StandardCharsets.UTF_8).length;
+                this.digitCount = Math.max(last - first + 1, 0);
+            }
+            else {
+                this.text = null;
+                this.bytes = null;
+                this.digitsAt = 0;
+                this.bytesDigitsAt = 0;
+                this.digitCount = 0;
+            }
+        }
+
+        void appendTo(StringBuilder out, int millis) {
+            out.append(text, 0, digitsAt);
+            for (int i = 0; i < digitCount; i++) {
+                out.append(digit(millis, i));
+            }
+            int rest = digitsAt + digitCount;
+            out.append(text, rest, text.length - rest);
+        }
+
+        int writeTo(byte[] buffer, int offset, int millis) {
+            if (offset < 0 || offset + bytes.length > buffer.length) {
+                throw new IndexOutOfBoundsException("Need " + bytes.length + " bytes at " + offset + " in buffer of " + buffer.length);
+            }
+            System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+            for (int i = 0; i < digitCount; i++) {
+                buffer[offset + bytesDigitsAt + i] = (byte) digit(millis, i);
+            }
+            return bytes.length;
+        }
+    }
+
+    // i'th digit of a three-digit millis value, from the hundreds
+    private static char digit(int millis, int i) {
+        int divisor = i == 0 ? 100 : i == 1 ? 10 : 1;
+        return (char) ('0' + millis / divisor % 10);
+    }
+}
@@ -0,0 +1,81 @@
+package com.timgroup.clocks.joda;
+
+import org.joda.time.DateTimeZone;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Clock that reuses the instants it last returned while the underlying millis are unchanged.
+ * <p>
+ * The last values are kept in an immutable holder that is replaced without locking;
+ * concurrent callers may occasionally replace it redundantly, but never see a
+ * mismatched pair.
+ * <p>
+ * As instants are keyed on millis, they are only of millisecond precision, even if
+ * the underlying clock is more precise. {@link JodaClock#instant()} is not final, so
+ * that this clock can return its memoised java.time instant too.
+ *
+ * @see JodaClock#memoising(java.time.Clock)
+ */
+final class MemoisingJodaClock extends JodaClock {
+    private final JodaClock delegate;
+    private Memo last;
+
+    MemoisingJodaClock(JodaClock delegate) {
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @Override
+    public DateTimeZone getDateTimeZone() {
+        return delegate.getDateTimeZone();
+    }
+
+    @Override
+    public long millis() {
+        return delegate.millis();
+    }
+
+    @Override
+    public org.joda.time.Instant now() {
+        return memoFor(delegate.millis()).jodaInstant;
+    }
+
+    @Override
+    public java.time.Instant instant() {
+        return memoFor(delegate.millis()).instant;
+    }
+
+    private Memo memoFor(long millis) {
+        Memo memo = last;
+        if (memo == null || memo.millis != millis) {
+            last = memo = new Memo(millis);
+        }
+        return memo;
+    }
+
+    @Override
+    public JodaClock withZone(DateTimeZone jodaTimeZone) {
+        JodaClock newDelegate = delegate.withZone(jodaTimeZone);
+        if (newDelegate == delegate) {
+            return this;
+        }
+        return new MemoisingJodaClock(newDelegate);
+    }
+
+    @Override
+    public String toString() {
+        return "Memoising:" + delegate;
+    }
+
+    private static final class Memo {
+        final long millis;
+        final org.joda.time.Instant jodaInstant;
+        final java.time.Instant instant;
+
+        Memo(long millis) {
+            this.millis = millis;
+            this.jodaInstant = new org.joda.time.Instant(millis);
+            this.instant = java.time.Instant.ofEpochMilli(millis);
+        }
+    }
+}
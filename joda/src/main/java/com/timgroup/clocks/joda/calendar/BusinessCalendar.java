@@ -0,0 +1,318 @@
+package com.timgroup.clocks.joda.calendar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.LocalDate;
+import org.joda.time.chrono.ISOChronology;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Calendar of business days over a fixed range of dates.
+ * <p>
+ * Stored as a bitset over epoch days, with a bit set for each business day, so
+ * testing a date is a single lookup, and searching for the next business day skips
+ * a whole word of non-business days at a time.
+ * <p>
+ * Calendars are immutable. Queries for dates outside the range of a calendar
+ * throw {@link IllegalArgumentException}.
+ */
+public final class BusinessCalendar {
+    private static final int ADDRESS_BITS = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS;
+
+    private final String name;
+    private final long firstDay;
+    private final long lastDay;
+    private final long[] words;
+
+    private BusinessCalendar(String name, long firstDay, long lastDay, long[] words) {
+        this.name = name;
+        this.firstDay = firstDay;
+        this.lastDay = lastDay;
+        this.words = words;
+    }
+
+    public static Builder builder(String name, LocalDate firstDate, LocalDate lastDate) {
+        return new Builder(name, toEpochDay(firstDate), toEpochDay(lastDate));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LocalDate getFirstDate() {
+        return fromEpochDay(firstDay);
+    }
+
+    public LocalDate getLastDate() {
+        return fromEpochDay(lastDay);
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        return isBusinessDay(toEpochDay(date));
+    }
+
+    public boolean isBusinessDay(long epochDay) {
+        checkInRange(epochDay);
+        return isSet(epochDay - firstDay);
+    }
+
+    /**
+     * @param date date to start from
+     * @return the first business day after the given date
+     * @throws IllegalArgumentException if there is no business day after the date within this calendar's range
+     */
+    public LocalDate nextBusinessDay(LocalDate date) {
+        return fromEpochDay(nextBusinessDay(toEpochDay(date)));
+    }
+
+    public long nextBusinessDay(long epochDay) {
+        checkInRange(epochDay);
+        long found = nextSetBit(epochDay - firstDay + 1);
+        if (found < 0) {
+            throw new IllegalArgumentException("No business day after " + fromEpochDay(epochDay) + " in " + this);
+        }
+        return firstDay + found;
+    }
+
+    /**
+     * @param date date to start from
+     * @return the last business day before the given date
+     * @throws IllegalArgumentException if there is no business day before the date within this calendar's range
+     */
+    public LocalDate previousBusinessDay(LocalDate date) {
+        return fromEpochDay(previousBusinessDay(toEpochDay(date)));
+    }
+
+    public long previousBusinessDay(long epochDay) {
+        checkInRange(epochDay);
+        long found = previousSetBit(epochDay - firstDay - 1);
+        if (found < 0) {
+            throw new IllegalArgumentException("No business day before " + fromEpochDay(epochDay) + " in " + this);
+        }
+        return firstDay + found;
+    }
+
+    /**
+     * Add a number of business days to a date, as for a settlement date of T+n.
+     * <p>
+     * Adding zero days returns the date itself if it is a business day, otherwise the next business day.
+     *
+     * @param date date to start from
+     * @param businessDays number of business days to add, which may be negative
+     * @return the resulting business day
+     * @throws IllegalArgumentException if the result would be outside this calendar's range
+     */
+    public LocalDate addBusinessDays(LocalDate date, int businessDays) {
+        return fromEpochDay(addBusinessDays(toEpochDay(date), businessDays));
+    }
+
+    public long addBusinessDays(long epochDay, int businessDays) {
+        checkInRange(epochDay);
+        if (businessDays == 0) {
+            return isSet(epochDay - firstDay) ? epochDay : nextBusinessDay(epochDay);
+        }
+        long index = epochDay - firstDay;
+        long remaining = Math.abs((long) businessDays);
+        if (businessDays > 0) {
+            // count whole words of business days at a time, then find the exact bit
+            long bit = index + 1;
+            while (bit < length()) {
+                int wordIndex = (int) (bit >>> ADDRESS_BITS);
+                long word = words[wordIndex] & (-1L << bit);
+                int count = Long.bitCount(word);
+                if (count >= remaining) {
+                    return firstDay + nthSetBit(wordIndex, word, (int) remaining);
+                }
+                remaining -= count;
+                bit = (long) (wordIndex + 1) << ADDRESS_BITS;
+            }
+        }
+        else {
+            long bit = index - 1;
+            while (bit >= 0) {
+                int wordIndex = (int) (bit >>> ADDRESS_BITS);
+                long word = words[wordIndex] & (-1L >>> (BITS_PER_WORD - 1 - (bit & (BITS_PER_WORD - 1))));
+                int count = Long.bitCount(word);
+                if (count >= remaining) {
+                    return firstDay + nthSetBit(wordIndex, word, count - (int) remaining + 1);
+                }
+                remaining -= count;
+                bit = ((long) wordIndex << ADDRESS_BITS) - 1;
+            }
+        }
+        throw new IllegalArgumentException("Adding " + businessDays + " business days to " + fromEpochDay(epochDay) + " is outside " + this);
+    }
+
+    /**
+     * @param other another calendar
+     * @return calendar over the overlap of both ranges, where business days are those that are business days in both
+     */
+    public BusinessCalendar and(BusinessCalendar other) {
+        return combine(other, name + "&" + other.name, true);
+    }
+
+    /**
+     * @param other another calendar
+     * @return calendar over the overlap of both ranges, where business days are those that are business days in either
+     */
+    public BusinessCalendar or(BusinessCalendar other) {
+        return combine(other, name + "|" + other.name, false);
+    }
+
+    private BusinessCalendar combine(BusinessCalendar other, String combinedName, boolean intersect) {
+        long from = Math.max(firstDay, other.firstDay);
+        long to = Math.min(lastDay, other.lastDay);
+        if (from > to) {
+            throw new IllegalArgumentException("Calendars " + this + " and " + other + " do not overlap");
+        }
+        long[] combined = new long[wordsFor(to - from + 1)];
+        for (long day = from; day <= to; day++) {
+            boolean mine = isSet(day - firstDay);
+            boolean theirs = other.isSet(day - other.firstDay);
+            if (intersect ? mine && theirs : mine || theirs) {
+                set(combined, day - from);
+            }
+        }
+        return new BusinessCalendar(combinedName, from, to, combined);
+    }
+
+    private long length() {
+        return lastDay - firstDay + 1;
+    }
+
+    private boolean isSet(long bit) {
+        return (words[(int) (bit >>> ADDRESS_BITS)] & (1L << bit)) != 0;
+    }
+
+    private long nextSetBit(long fromBit) {
+        if (fromBit >= length()) {
+            return -1;
+        }
+        int wordIndex = (int) (fromBit >>> ADDRESS_BITS);
+        long word = words[wordIndex] & (-1L << fromBit);
+        while (word == 0) {
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return ((long) wordIndex << ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+    }
+
+    private long previousSetBit(long fromBit) {
+        if (fromBit < 0) {
+            return -1;
+        }
+        int wordIndex = (int) (fromBit >>> ADDRESS_BITS);
+        long word = words[wordIndex] & (-1L >>> (BITS_PER_WORD - 1 - (fromBit & (BITS_PER_WORD - 1))));
+        while (word == 0) {
+            if (wordIndex-- == 0) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+        return ((long) wordIndex << ADDRESS_BITS) + BITS_PER_WORD - 1 - Long.numberOfLeadingZeros(word);
+    }
+
+    private static long nthSetBit(int wordIndex, long word, int n) {
+        for (int i = 1; i < n; i++) {
+            word &= word - 1;
+        }
+        return ((long) wordIndex << ADDRESS_BITS) + Long.numberOfTrailingZeros(word);
+    }
+
+    private void checkInRange(long epochDay) {
+        if (epochDay < firstDay || epochDay > lastDay) {
+            throw new IllegalArgumentException(fromEpochDay(epochDay) + " is outside " + this);
+        }
+    }
+
+    private static int wordsFor(long bits) {
+        return Math.toIntExact((bits + BITS_PER_WORD - 1) >>> ADDRESS_BITS);
+    }
+
+    private static void set(long[] words, long bit) {
+        words[(int) (bit >>> ADDRESS_BITS)] |= 1L << bit;
+    }
+
+    static long toEpochDay(LocalDate date) {
+        return ISOChronology.getInstanceUTC().getDateTimeMillis(date.getYear(), date.getMonthOfYear(), date.getDayOfMonth(), 0)
+                / DateTimeConstants.MILLIS_PER_DAY;
+    }
+
+    static LocalDate fromEpochDay(long epochDay) {
+        return new LocalDate(epochDay * DateTimeConstants.MILLIS_PER_DAY, ISOChronology.getInstanceUTC());
+    }
+
+    @Override
+    public String toString() {
+        return "BusinessCalendar[" + name + " " + getFirstDate() + ".." + getLastDate() + "]";
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final long firstDay;
+        private final long lastDay;
+        private final List<Integer> weekendDays = new ArrayList<>(Arrays.asList(DateTimeConstants.SATURDAY, DateTimeConstants.SUNDAY));
+        private final List<Long> holidays = new ArrayList<>();
+
+        private Builder(String name, long firstDay, long lastDay) {
+            this.name = requireNonNull(name);
+            if (lastDay < firstDay) {
+                throw new IllegalArgumentException("Last date must not be before first date");
+            }
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+        }
+
+        /**
+         * Replace the default weekend of Saturday and Sunday.
+         *
+         * @param daysOfWeek ISO days of week that are never business days
+         * @return this builder
+         */
+        public Builder weekend(int... daysOfWeek) {
+            weekendDays.clear();
+            for (int dayOfWeek : daysOfWeek) {
+                if (dayOfWeek < DateTimeConstants.MONDAY || dayOfWeek > DateTimeConstants.SUNDAY) {
+                    throw new IllegalArgumentException("Not a day of week: " + dayOfWeek);
+                }
+                weekendDays.add(dayOfWeek);
+            }
+            return this;
+        }
+
+        public Builder holiday(LocalDate date) {
+            holidays.add(toEpochDay(date));
+            return this;
+        }
+
+        public Builder holidays(Collection<LocalDate> dates) {
+            dates.forEach(this::holiday);
+            return this;
+        }
+
+        public BusinessCalendar build() {
+            long[] words = new long[wordsFor(lastDay - firstDay + 1)];
+            for (long day = firstDay; day <= lastDay; day++) {
+                // epoch day 0 (1970-01-01) was a Thursday
+                int dayOfWeek = (int) Math.floorMod(day + 3, 7L) + 1;
+                if (!weekendDays.contains(dayOfWeek)) {
+                    set(words, day - firstDay);
+                }
+            }
+            for (long holiday : holidays) {
+                if (holiday >= firstDay && holiday <= lastDay) {
+                    words[(int) ((holiday - firstDay) >>> ADDRESS_BITS)] &= ~(1L << (holiday - firstDay));
+                }
+            }
+            return new BusinessCalendar(name, firstDay, lastDay, words);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.timgroup.clocks.joda.calendar;
+
+import com.timgroup.clocks.joda.JodaClock;
+import org.joda.time.LocalDate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Answers business-day questions about today, according to a clock and a calendar.
+ * <p>
+ * The answers for the current day are cached, so repeated calls on the same day
+ * only read the clock and compare the epoch day.
+ */
+public final class BusinessDays {
+    private final BusinessCalendar calendar;
+    private final JodaClock clock;
+    private Today today;
+
+    public BusinessDays(BusinessCalendar calendar, JodaClock clock) {
+        this.calendar = requireNonNull(calendar);
+        this.clock = requireNonNull(clock);
+    }
+
+    public BusinessCalendar getCalendar() {
+        return calendar;
+    }
+
+    public boolean isBusinessDay() {
+        return today().isBusinessDay;
+    }
+
+    public LocalDate nextBusinessDay() {
+        Today current = today();
+        LocalDate result = current.nextBusinessDay;
+        if (result == null) {
+            current.nextBusinessDay = result = BusinessCalendar.fromEpochDay(calendar.nextBusinessDay(current.epochDay));
+        }
+        return result;
+    }
+
+    /**
+     * @param businessDays number of business days to add, e.g. 2 for a T+2 settlement date
+     * @return the resulting business day
+     * @see BusinessCalendar#addBusinessDays(LocalDate, int)
+     */
+    public LocalDate addBusinessDays(int businessDays) {
+        return BusinessCalendar.fromEpochDay(calendar.addBusinessDays(today().epochDay, businessDays));
+    }
+
+    private Today today() {
+        long epochDay = clock.currentEpochDay();
+        Today current = today;
+        if (current == null || current.epochDay != epochDay) {
+            today = current = new Today(epochDay, calendar.isBusinessDay(epochDay));
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "BusinessDays[" + calendar + " @ " + clock + "]";
+    }
+
+    private static final class Today {
+        final long epochDay;
+        final boolean isBusinessDay;
+        LocalDate nextBusinessDay;
+
+        Today(long epochDay, boolean isBusinessDay) {
+            this.epochDay = epochDay;
+            this.isBusinessDay = isBusinessDay;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.timgroup.clocks.joda.calendar;
+
+import java.time.Clock;
+import java.util.Arrays;
+
+import org.joda.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Answers when a schedule next fires, according to a clock.
+ * <p>
+ * A window of upcoming fire times is precomputed, so finding the next one is a
+ * binary search. The window is recomputed from the current time when the clock
+ * moves past its end (or back before its start). The window is an immutable value
+ * replaced without locking, so concurrent callers may occasionally recompute it
+ * redundantly.
+ *
+ * @see Schedule#fireTimes(Clock, int)
+ */
+public final class FireTimes {
+    private final Schedule schedule;
+    private final Clock clock;
+    private final int windowSize;
+    private Window window;
+
+    public FireTimes(Schedule schedule, Clock clock, int windowSize) {
+        this.schedule = requireNonNull(schedule);
+        this.clock = requireNonNull(clock);
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * @return epoch millis of the first fire time after the current time
+     * @throws IllegalStateException if the schedule never fires again
+     */
+    public long nextFireMillis() {
+        return nextFireAfter(clock.millis());
+    }
+
+    public Instant nextFire() {
+        return new Instant(nextFireMillis());
+    }
+
+    public java.time.Instant nextFireInstant() {
+        return java.time.Instant.ofEpochMilli(nextFireMillis());
+    }
+
+    /**
+     * @return time until the schedule next fires
+     * @throws IllegalStateException if the schedule never fires again
+     */
+    public java.time.Duration untilNextFire() {
+        long now = clock.millis();
+        return java.time.Duration.ofMillis(nextFireAfter(now) - now);
+    }
+
+    private long nextFireAfter(long now) {
+        Window current = window;
+        if (current == null || !current.covers(now)) {
+            window = current = new Window(now, schedule.fireTimesAfter(now, windowSize), windowSize);
+        }
+        int index = current.indexAfter(now);
+        if (index >= current.times.length) {
+            throw new IllegalStateException(schedule + " does not fire after " + new Instant(now));
+        }
+        return current.times[index];
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    @Override
+    public String toString() {
+        return "FireTimes[" + schedule + " @ " + clock + "]";
+    }
+
+    private static final class Window {
+        final long from;
+        final long[] times;
+        final boolean exhaustive;
+
+        Window(long from, long[] times, int windowSize) {
+            this.from = from;
+            this.times = times;
+            this.exhaustive = times.length < windowSize;
+        }
+
+        // a short window holds every remaining fire time, so never needs recomputing going forwards
+        boolean covers(long now) {
+            return now >= from && (exhaustive || now < times[times.length - 1]);
+        }
+
+        int indexAfter(long now) {
+            int index = Arrays.binarySearch(times, now);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+    }
+}
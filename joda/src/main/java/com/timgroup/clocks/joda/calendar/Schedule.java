@@ -0,0 +1,306 @@
+package com.timgroup.clocks.joda.calendar;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.DateTimeField;
+import org.joda.time.DateTimeZone;
+import org.joda.time.chrono.ISOChronology;
+
+/**
+ * Rule for the instants at which some job should fire, at fixed local times in a time zone.
+ * <p>
+ * Rules are parsed from either a list of local times or the five fields of a cron
+ * expression (minute, hour, day of month, month, day of week), followed by a zone ID and
+ * optionally a restriction to weekdays or to business days. For example:
+ * <ul>
+ *     <li>{@code 17:30 Europe/London on business days}</li>
+ *     <li>{@code 09:00,12:00 America/New_York on weekdays}</li>
+ *     <li>{@code 0/15 8-18 * * 1-5 Asia/Tokyo}</li>
+ * </ul>
+ * Cron fields support {@code *}, numbers, ranges, steps and lists; as in cron, if both the
+ * day of month and day of week are restricted, a day matching either fires.
+ * <p>
+ * Local times are converted to instants as for {@link java.time.ZonedDateTime}: a time skipped
+ * by a daylight saving gap fires late by the length of the gap, and a time repeated by an overlap
+ * fires only once, at the earlier offset.
+ *
+ * @see FireTimes
+ */
+public final class Schedule {
+    private static final long MILLIS_PER_DAY = DateTimeConstants.MILLIS_PER_DAY;
+    private static final long MILLIS_PER_MINUTE = DateTimeConstants.MILLIS_PER_MINUTE;
+    private static final int MINUTES_PER_DAY = DateTimeConstants.MINUTES_PER_DAY;
+    // longest gap between fire times for a valid rule is for 29 February, which can skip a leap year
+    private static final long MAX_DAYS_BETWEEN_FIRES = 8 * 366;
+    private static final long WEEKDAYS = bits(DateTimeConstants.MONDAY, DateTimeConstants.FRIDAY);
+    private static final DateTimeField MONTH_OF_YEAR = ISOChronology.getInstanceUTC().monthOfYear();
+    private static final DateTimeField DAY_OF_MONTH = ISOChronology.getInstanceUTC().dayOfMonth();
+
+    private final String rule;
+    private final DateTimeZone zone;
+    private final int[] minutesOfDay;
+    private final long months;
+    private final long daysOfMonth;
+    private final long daysOfWeek;
+    private final boolean anyDayOfMonth;
+    private final boolean anyDayOfWeek;
+    private final long requiredDaysOfWeek;
+    private final BusinessCalendar calendar;
+    private final long calendarFirstDay;
+    private final long calendarLastDay;
+
+    private Schedule(String rule, DateTimeZone zone, int[] minutesOfDay, long months, long daysOfMonth, long daysOfWeek,
+                     boolean anyDayOfMonth, boolean anyDayOfWeek, long requiredDaysOfWeek, BusinessCalendar calendar) {
+        this.rule = rule;
+        this.zone = zone;
+        this.minutesOfDay = minutesOfDay;
+        this.months = months;
+        this.daysOfMonth = daysOfMonth;
+        this.daysOfWeek = daysOfWeek;
+        this.anyDayOfMonth = anyDayOfMonth;
+        this.anyDayOfWeek = anyDayOfWeek;
+        this.requiredDaysOfWeek = requiredDaysOfWeek;
+        this.calendar = calendar;
+        this.calendarFirstDay = calendar == null ? Long.MIN_VALUE : BusinessCalendar.toEpochDay(calendar.getFirstDate());
+        this.calendarLastDay = calendar == null ? Long.MAX_VALUE : BusinessCalendar.toEpochDay(calendar.getLastDate());
+    }
+
+    /**
+     * @param rule rule to parse, which must not refer to business days
+     * @return the parsed schedule
+     * @throws IllegalArgumentException if the rule is invalid
+     */
+    public static Schedule parse(String rule) {
+        return parse(rule, null);
+    }
+
+    /**
+     * @param rule rule to parse
+     * @param calendar calendar to use for a rule that only fires on business days
+     * @return the parsed schedule, which never fires outside the range of the calendar if it only fires on business days
+     * @throws IllegalArgumentException if the rule is invalid
+     */
+    public static Schedule parse(String rule, BusinessCalendar calendar) {
+        String[] tokens = rule.trim().split("\\s+");
+        int index;
+        int[] minutesOfDay;
+        long months = bits(1, 12);
+        long daysOfMonth = bits(1, 31);
+        long daysOfWeek = bits(1, 7);
+        boolean anyDayOfMonth = true;
+        boolean anyDayOfWeek = true;
+        if (tokens[0].contains(":")) {
+            minutesOfDay = parseTimes(tokens[0]);
+            index = 1;
+        }
+        else {
+            if (tokens.length < 6) {
+                throw new IllegalArgumentException("Expected five cron fields and a zone in: " + rule);
+            }
+            long minutes = parseField(tokens[0], 0, 59);
+            long hours = parseField(tokens[1], 0, 23);
+            minutesOfDay = combine(hours, minutes);
+            daysOfMonth = parseField(tokens[2], 1, 31);
+            months = parseField(tokens[3], 1, 12);
+            daysOfWeek = parseField(tokens[4], 0, 7);
+            // cron allows Sunday as 0 or 7, Joda-Time only as 7
+            if ((daysOfWeek & 1) != 0) {
+                daysOfWeek = (daysOfWeek & ~1L) | (1L << DateTimeConstants.SUNDAY);
+            }
+            anyDayOfMonth = tokens[2].startsWith("*");
+            anyDayOfWeek = tokens[4].startsWith("*");
+            index = 5;
+        }
+        if (index >= tokens.length) {
+            throw new IllegalArgumentException("Expected a zone in: " + rule);
+        }
+        DateTimeZone zone = DateTimeZone.forID(tokens[index++]);
+        long requiredDaysOfWeek = bits(1, 7);
+        BusinessCalendar businessCalendar = null;
+        if (index < tokens.length) {
+            if (!tokens[index].equalsIgnoreCase("on")) {
+                throw new IllegalArgumentException("Expected 'on' after zone in: " + rule);
+            }
+            String days = String.join(" ", Arrays.copyOfRange(tokens, index + 1, tokens.length)).toLowerCase(Locale.ROOT);
+            if (days.equals("weekdays")) {
+                requiredDaysOfWeek = WEEKDAYS;
+            }
+            else if (days.equals("business days")) {
+                if (calendar == null) {
+                    throw new IllegalArgumentException("A business calendar is required for: " + rule);
+                }
+                businessCalendar = calendar;
+            }
+            else {
+                throw new IllegalArgumentException("Expected 'weekdays' or 'business days' in: " + rule);
+            }
+        }
+        return new Schedule(rule.trim(), zone, minutesOfDay, months, daysOfMonth, daysOfWeek, anyDayOfMonth, anyDayOfWeek,
+                requiredDaysOfWeek, businessCalendar);
+    }
+
+    public DateTimeZone getZone() {
+        return zone;
+    }
+
+    /**
+     * Compute the next fire times after some instant.
+     *
+     * @param afterMillis instant to search from, exclusive
+     * @param count maximum number of fire times to return
+     * @return the next fire times in order, as epoch millis, which may be fewer than requested if the schedule stops firing
+     */
+    public long[] fireTimesAfter(long afterMillis, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be non-negative");
+        }
+        long[] result = new long[count];
+        int found = 0;
+        // start a day early, as a time shifted by a gap may land after midnight
+        long epochDay = Math.max(Math.floorDiv(afterMillis + zone.getOffset(afterMillis), MILLIS_PER_DAY) - 1, calendarFirstDay);
+        long giveUpDay = Math.min(epochDay + MAX_DAYS_BETWEEN_FIRES, calendarLastDay);
+        long previous = afterMillis;
+        for (; found < count && epochDay <= giveUpDay; epochDay++) {
+            if (!firesOn(epochDay)) {
+                continue;
+            }
+            for (int i = 0; i < minutesOfDay.length && found < count; i++) {
+                long localMillis = epochDay * MILLIS_PER_DAY + minutesOfDay[i] * MILLIS_PER_MINUTE;
+                long millis = localMillis - zone.getOffsetFromLocal(localMillis);
+                if (millis > previous) {
+                    result[found++] = millis;
+                    previous = millis;
+                    giveUpDay = Math.min(epochDay + MAX_DAYS_BETWEEN_FIRES, calendarLastDay);
+                }
+            }
+        }
+        return found == count ? result : Arrays.copyOf(result, found);
+    }
+
+    /**
+     * @param clock clock to read the current time from
+     * @param windowSize number of fire times to precompute at a time
+     * @return fire times of this schedule according to the clock
+     */
+    public FireTimes fireTimes(Clock clock, int windowSize) {
+        return new FireTimes(this, clock, windowSize);
+    }
+
+    private boolean firesOn(long epochDay) {
+        long dayOfWeek = 1L << (Math.floorMod(epochDay + 3, 7) + 1);
+        if ((requiredDaysOfWeek & dayOfWeek) == 0) {
+            return false;
+        }
+        long dayMillis = epochDay * MILLIS_PER_DAY;
+        if ((months & (1L << MONTH_OF_YEAR.get(dayMillis))) == 0) {
+            return false;
+        }
+        boolean dayOfMonthMatches = (daysOfMonth & (1L << DAY_OF_MONTH.get(dayMillis))) != 0;
+        boolean dayOfWeekMatches = (daysOfWeek & dayOfWeek) != 0;
+        boolean dayMatches;
+        if (anyDayOfMonth || anyDayOfWeek) {
+            dayMatches = dayOfMonthMatches && dayOfWeekMatches;
+        }
+        else {
+            dayMatches = dayOfMonthMatches || dayOfWeekMatches;
+        }
+        return dayMatches && (calendar == null || calendar.isBusinessDay(epochDay));
+    }
+
+    private static int[] parseTimes(String times) {
+        boolean[] selected = new boolean[MINUTES_PER_DAY];
+        for (String time : times.split(",")) {
+            String[] parts = time.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected HH:mm time: " + time);
+            }
+            int hour = parseNumber(parts[0], 0, 23);
+            int minute = parseNumber(parts[1], 0, 59);
+            selected[hour * 60 + minute] = true;
+        }
+        return toMinutes(selected);
+    }
+
+    private static int[] combine(long hours, long minutes) {
+        boolean[] selected = new boolean[MINUTES_PER_DAY];
+        for (int hour = 0; hour < 24; hour++) {
+            for (int minute = 0; minute < 60; minute++) {
+                selected[hour * 60 + minute] = (hours & (1L << hour)) != 0 && (minutes & (1L << minute)) != 0;
+            }
+        }
+        return toMinutes(selected);
+    }
+
+    private static int[] toMinutes(boolean[] selected) {
+        int[] minutes = new int[MINUTES_PER_DAY];
+        int count = 0;
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i]) {
+                minutes[count++] = i;
+            }
+        }
+        return Arrays.copyOf(minutes, count);
+    }
+
+    private static long parseField(String field, int min, int max) {
+        long result = 0;
+        for (String element : field.split(",")) {
+            int step = 1;
+            String range = element;
+            int slash = element.indexOf('/');
+            if (slash >= 0) {
+                step = parseNumber(element.substring(slash + 1), 1, max);
+                range = element.substring(0, slash);
+            }
+            int from;
+            int to;
+            if (range.equals("*")) {
+                from = min;
+                to = max;
+            }
+            else {
+                int dash = range.indexOf('-');
+                if (dash >= 0) {
+                    from = parseNumber(range.substring(0, dash), min, max);
+                    to = parseNumber(range.substring(dash + 1), min, max);
+                    if (to < from) {
+                        throw new IllegalArgumentException("Range must not be reversed: " + element);
+                    }
+                }
+                else {
+                    from = parseNumber(range, min, max);
+                    to = slash >= 0 ? max : from;
+                }
+            }
+            for (int value = from; value <= to; value += step) {
+                result |= 1L << value;
+            }
+        }
+        return result;
+    }
+
+    private static int parseNumber(String text, int min, int max) {
+        int value;
+        try {
+            value = Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number: " + text, e);
+        }
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(value + " is not between " + min + " and " + max);
+        }
+        return value;
+    }
+
+    private static long bits(int from, int to) {
+        return (-1L >>> (63 - to)) & (-1L << from);
+    }
+
+    @Override
+    public String toString() {
+        return rule;
+    }
+}
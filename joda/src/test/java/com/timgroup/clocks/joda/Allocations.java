@@ -0,0 +1,34 @@
+package com.timgroup.clocks.joda;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Assume;
+
+final class Allocations {
+    private Allocations() {
+    }
+
+    /**
+     * Run an action repeatedly to warm it up, then as many times again while counting the bytes the current thread allocates.
+     *
+     * @param times number of times to run the action when counting
+     * @param action action to run
+     * @return bytes allocated while counting
+     */
+    static long allocatedBytes(int times, Runnable action) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Thread allocation counting is not supported",
+                bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported());
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < times; i++) {
+            action.run();
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < times; i++) {
+            action.run();
+        }
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+}
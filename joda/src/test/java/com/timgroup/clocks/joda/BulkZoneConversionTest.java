@@ -0,0 +1,145 @@
+package com.timgroup.clocks.joda;
+
+import java.util.Random;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.joda.time.DateTimeConstants.MILLIS_PER_DAY;
+
+public class BulkZoneConversionTest {
+    private static final DateTimeZone LONDON = DateTimeZone.forID("Europe/London");
+
+    @Test
+    public void converts_to_local_dates_and_times_across_transitions() throws Exception {
+        long[] millis = {
+                org.joda.time.Instant.parse("2016-03-26T23:30:00Z").getMillis(),
+                org.joda.time.Instant.parse("2016-03-27T00:59:59.999Z").getMillis(),
+                org.joda.time.Instant.parse("2016-03-27T01:00:00Z").getMillis(),
+                org.joda.time.Instant.parse("2016-10-29T23:30:00Z").getMillis(),
+                org.joda.time.Instant.parse("1969-12-31T23:59:00Z").getMillis(),
+        };
+        assertThat(BulkZoneConversion.toEpochDays(millis, LONDON), equalTo(new int[] {
+                (int) java.time.LocalDate.parse("2016-03-26").toEpochDay(),
+                (int) java.time.LocalDate.parse("2016-03-27").toEpochDay(),
+                (int) java.time.LocalDate.parse("2016-03-27").toEpochDay(),
+                (int) java.time.LocalDate.parse("2016-10-30").toEpochDay(),
+                // London was on permanent BST (+01:00) in 1969-1971
+                0 }));
+        assertThat(BulkZoneConversion.toMinuteOfDay(millis, LONDON), equalTo(new int[] { 23 * 60 + 30, 59, 2 * 60, 30, 59 }));
+    }
+
+    @Test
+    public void converts_with_fixed_offset_zone() throws Exception {
+        long[] millis = { org.joda.time.Instant.parse("2016-06-10T10:11:12Z").getMillis() };
+        assertThat(BulkZoneConversion.toMinuteOfDay(millis, DateTimeZone.forOffsetHours(-11)), equalTo(new int[] { 23 * 60 + 11 }));
+        assertThat(BulkZoneConversion.toLocalMillis(millis, DateTimeZone.forOffsetHours(-11)),
+                equalTo(new long[] { org.joda.time.Instant.parse("2016-06-09T23:11:12Z").getMillis() }));
+    }
+
+    @Test
+    public void matches_per_element_conversion_for_unsorted_input() throws Exception {
+        Random random = new Random(1234L);
+        long[] millis = new long[200_000];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = org.joda.time.Instant.parse("2010-01-01T00:00:00Z").getMillis() + (long) (random.nextDouble() * 10 * 365 * MILLIS_PER_DAY);
+        }
+        int[] epochDays = BulkZoneConversion.toEpochDays(millis, LONDON);
+        int[] parallelEpochDays = BulkZoneConversion.toEpochDaysParallel(millis, LONDON);
+        int[] minutes = BulkZoneConversion.toMinuteOfDay(millis, LONDON);
+        int[] parallelMinutes = BulkZoneConversion.toMinuteOfDayParallel(millis, LONDON);
+        for (int i = 0; i < millis.length; i++) {
+            LocalDateTime expected = new LocalDateTime(millis[i], LONDON);
+            assertThat(epochDays[i], equalTo((int) java.time.LocalDate.of(expected.getYear(), expected.getMonthOfYear(), expected.getDayOfMonth()).toEpochDay()));
+            assertThat(minutes[i], equalTo(expected.getMillisOfDay() / 60_000));
+        }
+        assertThat(parallelEpochDays, equalTo(epochDays));
+        assertThat(parallelMinutes, equalTo(minutes));
+    }
+
+    @Test
+    public void looks_up_zone_rules_rarely_for_sorted_input() throws Exception {
+        CountingZone zone = new CountingZone(LONDON);
+        long start = org.joda.time.Instant.parse("2016-01-01T00:00:00Z").getMillis();
+        long[] millis = new long[100_000];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = start + i * 60_000L;
+        }
+        BulkZoneConversion.toEpochDays(millis, zone);
+        assertThat(zone.lookups, lessThan(10));
+    }
+
+    @Test
+    public void looks_up_zone_rules_about_once_per_element_for_input_alternating_across_transition() throws Exception {
+        CountingZone zone = new CountingZone(LONDON);
+        long transition = org.joda.time.Instant.parse("2016-03-27T01:00:00Z").getMillis();
+        long[] millis = new long[100_000];
+        for (int i = 0; i < millis.length; i++) {
+            millis[i] = i % 2 == 0 ? transition - 1 - i : transition + i;
+        }
+        int[] minutes = BulkZoneConversion.toMinuteOfDay(millis, zone);
+        assertThat(zone.lookups, lessThan(millis.length * 11 / 10));
+        for (int i = 0; i < millis.length; i++) {
+            assertThat(minutes[i], equalTo(new LocalDateTime(millis[i], LONDON).getMillisOfDay() / 60_000));
+        }
+    }
+
+    private static final class CountingZone extends DateTimeZone {
+        private static final long serialVersionUID = 1L;
+
+        private final DateTimeZone zone;
+        int lookups;
+
+        CountingZone(DateTimeZone zone) {
+            super(zone.getID());
+            this.zone = zone;
+        }
+
+        @Override
+        public String getNameKey(long instant) {
+            return zone.getNameKey(instant);
+        }
+
+        @Override
+        public int getOffset(long instant) {
+            lookups++;
+            return zone.getOffset(instant);
+        }
+
+        @Override
+        public int getStandardOffset(long instant) {
+            return zone.getStandardOffset(instant);
+        }
+
+        @Override
+        public boolean isFixed() {
+            return zone.isFixed();
+        }
+
+        @Override
+        public long nextTransition(long instant) {
+            lookups++;
+            return zone.nextTransition(instant);
+        }
+
+        @Override
+        public long previousTransition(long instant) {
+            lookups++;
+            return zone.previousTransition(instant);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.timgroup.clocks.joda;
+
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ClockSnapshotTest {
+    @Test
+    public void provides_joda_values_in_clock_timezone() throws Exception {
+        ClockSnapshot snapshot = JodaClock.using(Clock.fixed(Instant.parse("2016-06-10T10:11:12Z"), ZoneId.of("Pacific/Midway"))).snapshot();
+        assertThat(snapshot.now(), equalTo(org.joda.time.Instant.parse("2016-06-10T10:11:12Z")));
+        assertThat(snapshot.nowLocal(), equalTo(org.joda.time.LocalDateTime.parse("2016-06-09T23:11:12")));
+        assertThat(snapshot.today(), equalTo(org.joda.time.LocalDate.parse("2016-06-09")));
+        assertThat(snapshot.nowDateTime(), equalTo(org.joda.time.LocalDateTime.parse("2016-06-09T23:11:12")
+                .toDateTime(DateTimeZone.forID("Pacific/Midway"))));
+    }
+
+    @Test
+    public void provides_java_time_values_in_clock_timezone() throws Exception {
+        ClockSnapshot snapshot = JodaClock.using(Clock.fixed(Instant.parse("2016-06-10T10:11:12Z"), ZoneId.of("Pacific/Midway"))).snapshot();
+        assertThat(snapshot.instant(), equalTo(Instant.parse("2016-06-10T10:11:12Z")));
+        assertThat(snapshot.getZone(), equalTo(ZoneId.of("Pacific/Midway")));
+        assertThat(snapshot.localDateTime(), equalTo(java.time.LocalDateTime.parse("2016-06-09T23:11:12")));
+        assertThat(snapshot.localDate(), equalTo(java.time.LocalDate.parse("2016-06-09")));
+        assertThat(snapshot.zonedDateTime(), equalTo(java.time.ZonedDateTime.parse("2016-06-09T23:11:12-11:00[Pacific/Midway]")));
+    }
+
+    @Test
+    public void memoises_derived_values() throws Exception {
+        ClockSnapshot snapshot = JodaClock.using(Clock.fixed(Instant.parse("2016-06-10T10:11:12Z"), ZoneOffset.UTC)).snapshot();
+        assertThat(snapshot.nowDateTime(), sameInstance(snapshot.nowDateTime()));
+        assertThat(snapshot.today(), sameInstance(snapshot.today()));
+        assertThat(snapshot.instant(), sameInstance(snapshot.instant()));
+        assertThat(snapshot.zonedDateTime(), sameInstance(snapshot.zonedDateTime()));
+    }
+
+    @Test
+    public void reads_underlying_clock_only_once() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        JodaClock jodaClock = JodaClock.using(new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                // each read is a day later, so inconsistent reads would be obvious
+                return Instant.parse("2016-06-10T23:59:59.999Z").plusSeconds(86400L * reads.getAndIncrement());
+            }
+        });
+        ClockSnapshot snapshot = jodaClock.snapshot();
+        assertThat(snapshot.today(), equalTo(org.joda.time.LocalDate.parse("2016-06-10")));
+        assertThat(snapshot.nowDateTime().toLocalDate(), equalTo(org.joda.time.LocalDate.parse("2016-06-10")));
+        assertThat(snapshot.localDate(), equalTo(java.time.LocalDate.parse("2016-06-10")));
+        assertThat(reads.get(), equalTo(1));
+    }
+}
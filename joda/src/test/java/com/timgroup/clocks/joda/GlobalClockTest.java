@@ -0,0 +1,100 @@
+package com.timgroup.clocks.joda;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.Instant;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class GlobalClockTest {
+    @After
+    public void reset() {
+        GlobalClock.INSTANCE.reset();
+    }
+
+    @Test
+    public void uses_system_clock_by_default() throws Exception {
+        long before = System.currentTimeMillis();
+        long millis = GlobalClock.INSTANCE.millis();
+        long after = System.currentTimeMillis();
+        assertThat(millis, greaterThanOrEqualTo(before));
+        assertThat(millis, lessThanOrEqualTo(after));
+        assertThat(GlobalClock.INSTANCE.getDateTimeZone(), equalTo(DateTimeZone.getDefault()));
+        assertThat(GlobalClock.INSTANCE.getInstalled(), nullValue());
+    }
+
+    @Test
+    public void reads_from_installed_clock() throws Exception {
+        GlobalClock.INSTANCE.install(Clock.fixed(java.time.Instant.parse("2016-06-10T10:11:12Z"), ZoneId.of("Pacific/Midway")));
+        assertThat(GlobalClock.INSTANCE.now(), equalTo(Instant.parse("2016-06-10T10:11:12Z")));
+        assertThat(GlobalClock.INSTANCE.getDateTimeZone(), equalTo(DateTimeZone.forID("Pacific/Midway")));
+        assertThat(GlobalClock.INSTANCE.today(), equalTo(org.joda.time.LocalDate.parse("2016-06-09")));
+    }
+
+    @Test
+    public void can_be_swapped_repeatedly() throws Exception {
+        GlobalClock.INSTANCE.install(Clock.fixed(java.time.Instant.parse("2016-06-10T10:11:12Z"), ZoneId.of("UTC")));
+        GlobalClock.INSTANCE.install(Clock.fixed(java.time.Instant.parse("2017-06-10T10:11:12Z"), ZoneId.of("UTC")));
+        assertThat(GlobalClock.INSTANCE.now(), equalTo(Instant.parse("2017-06-10T10:11:12Z")));
+        GlobalClock.INSTANCE.reset();
+        assertThat(GlobalClock.INSTANCE.millis(), greaterThanOrEqualTo(Instant.parse("2020-01-01T00:00:00Z").getMillis()));
+    }
+
+    @Test
+    public void zone_overridden_clock_follows_installed_clock() throws Exception {
+        JodaClock overridden = GlobalClock.INSTANCE.withZone(DateTimeZone.forID("America/Los_Angeles"));
+        GlobalClock.INSTANCE.install(Clock.fixed(java.time.Instant.parse("2016-06-10T10:11:12Z"), ZoneId.of("UTC")));
+        assertThat(overridden.now(), equalTo(Instant.parse("2016-06-10T10:11:12Z")));
+        assertThat(overridden.getDateTimeZone(), equalTo(DateTimeZone.forID("America/Los_Angeles")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_to_install_itself() throws Exception {
+        GlobalClock.INSTANCE.install(GlobalClock.INSTANCE);
+    }
+
+    @Test
+    public void wrapper_reading_from_global_clock_sees_system_clock_when_installed() throws Exception {
+        GlobalClock.INSTANCE.install(new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return GlobalClock.INSTANCE.getZone();
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public java.time.Instant instant() {
+                return GlobalClock.INSTANCE.instant();
+            }
+        });
+        long before = System.currentTimeMillis();
+        long millis = GlobalClock.INSTANCE.millis();
+        long after = System.currentTimeMillis();
+        assertThat(millis, greaterThanOrEqualTo(before));
+        assertThat(millis, lessThanOrEqualTo(after));
+        assertThat(GlobalClock.INSTANCE.getZone(), equalTo(JodaClock.toZoneId(DateTimeZone.getDefault())));
+    }
+
+    @Test
+    public void rewrapped_zone_view_of_global_clock_sees_system_clock_when_installed() throws Exception {
+        GlobalClock.INSTANCE.install(JodaClock.memoising(GlobalClock.INSTANCE.withZone(DateTimeZone.forID("Asia/Tokyo"))));
+        long before = System.currentTimeMillis();
+        long millis = GlobalClock.INSTANCE.millis();
+        long after = System.currentTimeMillis();
+        assertThat(millis, greaterThanOrEqualTo(before));
+        assertThat(millis, lessThanOrEqualTo(after));
+        assertThat(GlobalClock.INSTANCE.getDateTimeZone(), equalTo(DateTimeZone.forID("Asia/Tokyo")));
+    }
+}
@@ -1,22 +1,30 @@
 package com.timgroup.clocks.joda;
 
+import org.joda.time.DateTimeConstants;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Instant;
+import org.joda.time.MutableDateTime;
 import org.junit.Test;
 
 import java.time.Clock;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.Arrays;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.joda.time.DateTimeConstants.MILLIS_PER_HOUR;
 import static org.joda.time.DateTimeConstants.MILLIS_PER_MINUTE;
 import static org.joda.time.DateTimeConstants.MILLIS_PER_SECOND;
 
 public class JodaClockTest {
+    private long sink;
+
     @Test
     public void provides_joda_utc_instance_for_system_utc_clock() throws Exception {
         assertThat(JodaClock.using(Clock.systemUTC()).getDateTimeZone(), sameInstance(DateTimeZone.UTC));
@@ -164,4 +172,115 @@ public class JodaClockTest {
         assertThat(jodaClock.withZone(DateTimeZone.UTC), sameInstance(jodaClock));
         assertThat(jodaClock.withZone(DateTimeZone.forID("Europe/London")).getDateTimeZone(), equalTo(DateTimeZone.forID("Europe/London")));
     }
+
+    @Test
+    public void sets_mutable_datetime_to_now_in_clock_timezone() throws Exception {
+        MutableDateTime target = new MutableDateTime(0L, DateTimeZone.UTC);
+        MutableDateTime result = JodaClock.using(Clock.fixed(java.time.Instant.parse("2016-06-10T10:11:12Z"), ZoneId.of("Pacific/Midway")))
+                .nowInto(target);
+        assertThat(result, sameInstance(target));
+        assertThat(target.toDateTime(), equalTo(org.joda.time.LocalDateTime.parse("2016-06-09T23:11:12")
+                .toDateTime(DateTimeZone.forID("Pacific/Midway"))));
+    }
+
+    @Test
+    public void provides_local_fields_in_clock_timezone() throws Exception {
+        JodaClock jodaClock = JodaClock.using(Clock.fixed(java.time.Instant.parse("2016-06-10T10:11:12Z"), ZoneId.of("Pacific/Midway")));
+        assertThat(jodaClock.currentHourOfDay(), equalTo(23));
+        assertThat(jodaClock.currentMinuteOfDay(), equalTo(23 * 60 + 11));
+        assertThat(jodaClock.currentDayOfWeek(), equalTo(DateTimeConstants.THURSDAY));
+        assertThat(jodaClock.currentEpochDay(), equalTo(LocalDate.parse("2016-06-09").toEpochDay()));
+    }
+
+    @Test
+    public void provides_local_fields_before_epoch() throws Exception {
+        JodaClock jodaClock = JodaClock.using(Clock.fixed(java.time.Instant.parse("1969-12-31T22:30:00Z"), ZoneOffset.UTC));
+        assertThat(jodaClock.currentHourOfDay(), equalTo(22));
+        assertThat(jodaClock.currentMinuteOfDay(), equalTo(22 * 60 + 30));
+        assertThat(jodaClock.currentDayOfWeek(), equalTo(DateTimeConstants.WEDNESDAY));
+        assertThat(jodaClock.currentEpochDay(), equalTo(-1L));
+    }
+
+    @Test
+    public void passes_through_full_precision_of_wrapped_clock() throws Exception {
+        JodaClock jodaClock = JodaClock.using(Clock.fixed(java.time.Instant.parse("2016-06-10T10:11:12.123456789Z"), ZoneOffset.UTC));
+        assertThat(jodaClock.instant(), equalTo(java.time.Instant.parse("2016-06-10T10:11:12.123456789Z")));
+        assertThat(jodaClock.epochNanos(), equalTo(1465553472123456789L));
+        assertThat(jodaClock.millis(), equalTo(1465553472123L));
+        assertThat(jodaClock.now(), equalTo(org.joda.time.Instant.parse("2016-06-10T10:11:12.123Z")));
+    }
+
+    @Test
+    public void provides_epoch_nanos_at_millisecond_precision_for_joda_clocks() throws Exception {
+        JodaClock jodaClock = JodaClock.fixed(Instant.parse("2016-06-10T10:11:12.123Z"), DateTimeZone.UTC);
+        assertThat(jodaClock.epochNanos(), equalTo(1465553472123000000L));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void refuses_to_provide_epoch_nanos_outside_range() throws Exception {
+        JodaClock.fixed(Instant.parse("2300-01-01T00:00:00Z"), DateTimeZone.UTC).epochNanos();
+    }
+
+    @Test
+    public void converts_named_zone_to_same_instance_each_time() throws Exception {
+        assertThat(JodaClock.toDateTimeZone(ZoneId.of("Europe/London")), sameInstance(JodaClock.toDateTimeZone(ZoneId.of("Europe/London"))));
+        assertThat(JodaClock.toDateTimeZone(ZoneId.of("Europe/London")), equalTo(DateTimeZone.forID("Europe/London")));
+    }
+
+    @Test
+    public void preloads_zones() throws Exception {
+        JodaClock.preloadZones("Europe/London", "America/New_York", "+02:00");
+        JodaClock.preloadZones(Arrays.asList(ZoneId.of("Asia/Tokyo"), ZoneOffset.UTC));
+
+        assertThat(JodaClock.toDateTimeZone(ZoneId.of("Europe/London")), sameInstance(DateTimeZone.forID("Europe/London")));
+        assertThat(JodaClock.toDateTimeZone(ZoneId.of("America/New_York")), sameInstance(DateTimeZone.forID("America/New_York")));
+        assertThat(JodaClock.toDateTimeZone(ZoneId.of("Asia/Tokyo")), sameInstance(DateTimeZone.forID("Asia/Tokyo")));
+        assertThat(JodaClock.toDateTimeZone(ZoneId.of("+02:00")), equalTo(DateTimeZone.forOffsetHours(2)));
+        assertThat(JodaClock.toDateTimeZone(ZoneOffset.UTC), sameInstance(DateTimeZone.UTC));
+    }
+
+    @Test(expected = java.time.DateTimeException.class)
+    public void refuses_to_preload_unknown_zone() throws Exception {
+        JodaClock.preloadZones("Nowhere/Special");
+    }
+
+    @Test
+    public void reads_current_fields_without_allocating() throws Exception {
+        JodaClock clock = JodaClock.getDefault().withZone(DateTimeZone.forID("Europe/London"));
+        MutableDateTime target = new MutableDateTime(DateTimeZone.forID("Europe/London"));
+        long allocated = Allocations.allocatedBytes(100_000, () -> {
+            sink += clock.currentHourOfDay() + clock.currentMinuteOfDay() + clock.currentDayOfWeek() + clock.currentEpochDay();
+            sink += clock.nowInto(target).getMillis();
+        });
+        // under a byte per call: nothing is allocated per call, only the odd zone offset cache entry
+        assertThat(allocated, lessThan(100_000L));
+    }
+
+    @Test
+    public void reuses_zone_mapping_for_equal_zone_ids() throws Exception {
+        ZoneId[] zones = { ZoneId.of("Europe/London"), ZoneId.of("Europe/London") };
+        Clock clock = new Clock() {
+            private int reads;
+
+            @Override
+            public ZoneId getZone() {
+                return zones[reads++ & 1];
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public java.time.Instant instant() {
+                return java.time.Instant.EPOCH;
+            }
+        };
+        JodaClock jodaClock = JodaClock.using(clock);
+        assertThat(zones[0], not(sameInstance(zones[1])));
+        assertThat(jodaClock.getDateTimeZone(), equalTo(DateTimeZone.forID("Europe/London")));
+        long allocated = Allocations.allocatedBytes(100_000, () -> sink += jodaClock.getDateTimeZone().hashCode());
+        assertThat(allocated, lessThan(100_000L));
+    }
 }
@@ -0,0 +1,70 @@
+package com.timgroup.clocks.joda;
+
+import java.nio.charset.StandardCharsets;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.Instant;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.joda.time.DateTimeZone.UTC;
+
+public class JodaTimestampFormatterTest {
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss.SSS",
+            "yyyyMMdd-HH:mm:ss.SSS",
+            "HH:mm:ss",
+            "ss.S",
+            "ss.SS",
+            "HH:mm:ss.SSSS ZZ",
+    };
+
+    @Test
+    public void matches_full_formatting_for_every_millisecond() throws Exception {
+        DateTimeZone zone = DateTimeZone.forID("Europe/London");
+        long start = Instant.parse("2016-08-26T18:30:00Z").getMillis();
+        for (String pattern : PATTERNS) {
+            DateTimeFormatter formatter = DateTimeFormat.forPattern(pattern).withZone(zone);
+            JodaTimestampFormatter timestampFormatter = JodaTimestampFormatter.of(formatter);
+            for (long millis = start; millis < start + 2500; millis++) {
+                assertThat(timestampFormatter.format(millis, zone), equalTo(formatter.print(millis)));
+            }
+        }
+    }
+
+    @Test
+    public void matches_full_formatting_across_daylight_saving_change() throws Exception {
+        DateTimeZone zone = DateTimeZone.forID("Europe/London");
+        DateTimeFormatter formatter = ISODateTimeFormat.dateTime();
+        JodaTimestampFormatter timestampFormatter = JodaTimestampFormatter.of(formatter);
+        long transition = Instant.parse("2016-10-30T01:00:00Z").getMillis();
+        for (long millis = transition - 1500; millis < transition + 1500; millis += 7) {
+            assertThat(timestampFormatter.format(millis, zone), equalTo(formatter.withZone(zone).print(millis)));
+        }
+    }
+
+    @Test
+    public void formats_clock_time() throws Exception {
+        JodaClock clock = JodaClock.using(java.time.Clock.fixed(java.time.Instant.parse("2016-08-26T18:30:00.042Z"), java.time.ZoneId.of("Asia/Tokyo")));
+        JodaTimestampFormatter formatter = JodaTimestampFormatter.forPattern("HH:mm:ss.SSS");
+        assertThat(clock.nowFormatted(formatter), equalTo("03:30:00.042"));
+        StringBuilder out = new StringBuilder();
+        clock.nowFormatted(formatter, out);
+        assertThat(out.toString(), equalTo("03:30:00.042"));
+        byte[] buffer = new byte[12];
+        assertThat(clock.nowFormatted(formatter, buffer, 0), equalTo(12));
+        assertThat(new String(buffer, StandardCharsets.UTF_8), equalTo("03:30:00.042"));
+        assertThat(clock.withUTC().nowFormatted(formatter), equalTo("18:30:00.042"));
+    }
+
+    @Test
+    public void falls_back_to_full_formatting_when_millis_are_not_plain_digits() throws Exception {
+        JodaTimestampFormatter formatter = JodaTimestampFormatter.of(DateTimeFormat.forPattern("HH:mm:ss.SSS 'and' SSS"));
+        long millis = Instant.parse("2016-08-26T18:30:00.123Z").getMillis();
+        assertThat(formatter.format(millis, UTC), equalTo("18:30:00.123 and 123"));
+    }
+}
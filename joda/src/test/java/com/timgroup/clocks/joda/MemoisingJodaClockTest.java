@@ -0,0 +1,92 @@
+package com.timgroup.clocks.joda;
+
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class MemoisingJodaClockTest {
+    private Object sink;
+    private Instant now = Instant.parse("2016-06-10T10:11:12.345Z");
+    private final Clock underlying = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            if (zone.equals(ZoneOffset.UTC)) {
+                return this;
+            }
+            return Clock.fixed(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    @Test
+    public void returns_same_instants_while_millis_unchanged() throws Exception {
+        JodaClock clock = JodaClock.memoising(underlying);
+        org.joda.time.Instant jodaInstant = clock.now();
+        Instant instant = clock.instant();
+        now = Instant.parse("2016-06-10T10:11:12.345999Z");
+        assertThat(clock.now(), sameInstance(jodaInstant));
+        assertThat(clock.instant(), sameInstance(instant));
+        assertThat(jodaInstant, equalTo(org.joda.time.Instant.parse("2016-06-10T10:11:12.345Z")));
+        assertThat(instant, equalTo(Instant.parse("2016-06-10T10:11:12.345Z")));
+    }
+
+    @Test
+    public void returns_new_instants_when_millis_change() throws Exception {
+        JodaClock clock = JodaClock.memoising(underlying);
+        org.joda.time.Instant jodaInstant = clock.now();
+        now = Instant.parse("2016-06-10T10:11:12.346Z");
+        assertThat(clock.now(), not(sameInstance(jodaInstant)));
+        assertThat(clock.now(), equalTo(org.joda.time.Instant.parse("2016-06-10T10:11:12.346Z")));
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-06-10T10:11:12.346Z")));
+    }
+
+    @Test
+    public void zone_can_be_overridden() throws Exception {
+        JodaClock clock = JodaClock.memoising(underlying).withZone(DateTimeZone.forID("America/Los_Angeles"));
+        assertThat(clock.getDateTimeZone(), equalTo(DateTimeZone.forID("America/Los_Angeles")));
+        assertThat(clock.now(), equalTo(org.joda.time.Instant.parse("2016-06-10T10:11:12.345Z")));
+    }
+
+    @Test
+    public void wrapping_memoising_clock_returns_same_instance() throws Exception {
+        JodaClock clock = JodaClock.memoising(underlying);
+        assertThat(JodaClock.memoising(clock), sameInstance(clock));
+        assertThat(clock.withZone(DateTimeZone.UTC), sameInstance(clock));
+    }
+
+    @Test
+    public void allocates_nothing_per_read_while_millis_unchanged() throws Exception {
+        JodaClock memoising = JodaClock.memoising(underlying);
+        JodaClock plain = JodaClock.using(underlying);
+        long memoisingAllocated = Allocations.allocatedBytes(100_000, () -> {
+            sink = memoising.now();
+            sink = memoising.instant();
+        });
+        long plainAllocated = Allocations.allocatedBytes(100_000, () -> {
+            sink = plain.now();
+            sink = plain.instant();
+        });
+        assertThat(memoisingAllocated, lessThan(100_000L));
+        assertThat(plainAllocated, greaterThan(100_000L * 16));
+    }
+}
@@ -0,0 +1,103 @@
+package com.timgroup.clocks.joda.calendar;
+
+import org.joda.time.DateTimeConstants;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class BusinessCalendarTest {
+    // 2016-12-25 and 2016-12-26 are a Sunday and Monday; 2016-12-27 is a substitute holiday
+    private final BusinessCalendar london = BusinessCalendar.builder("London", LocalDate.parse("2016-01-01"), LocalDate.parse("2017-12-31"))
+            .holiday(LocalDate.parse("2016-12-26"))
+            .holiday(LocalDate.parse("2016-12-27"))
+            .holiday(LocalDate.parse("2017-01-02"))
+            .build();
+
+    private final BusinessCalendar newYork = BusinessCalendar.builder("NewYork", LocalDate.parse("2016-06-01"), LocalDate.parse("2018-12-31"))
+            .holiday(LocalDate.parse("2016-12-26"))
+            .holiday(LocalDate.parse("2017-01-02"))
+            .holiday(LocalDate.parse("2017-01-16"))
+            .build();
+
+    @Test
+    public void weekdays_are_business_days_except_holidays() throws Exception {
+        assertThat(london.isBusinessDay(LocalDate.parse("2016-12-23")), equalTo(true));
+        assertThat(london.isBusinessDay(LocalDate.parse("2016-12-24")), equalTo(false));
+        assertThat(london.isBusinessDay(LocalDate.parse("2016-12-25")), equalTo(false));
+        assertThat(london.isBusinessDay(LocalDate.parse("2016-12-26")), equalTo(false));
+        assertThat(london.isBusinessDay(LocalDate.parse("2016-12-27")), equalTo(false));
+        assertThat(london.isBusinessDay(LocalDate.parse("2016-12-28")), equalTo(true));
+    }
+
+    @Test
+    public void weekend_can_be_overridden() throws Exception {
+        BusinessCalendar calendar = BusinessCalendar.builder("Dubai", LocalDate.parse("2016-01-01"), LocalDate.parse("2016-12-31"))
+                .weekend(DateTimeConstants.FRIDAY, DateTimeConstants.SATURDAY)
+                .build();
+        assertThat(calendar.isBusinessDay(LocalDate.parse("2016-12-23")), equalTo(false));
+        assertThat(calendar.isBusinessDay(LocalDate.parse("2016-12-25")), equalTo(true));
+    }
+
+    @Test
+    public void finds_next_and_previous_business_day() throws Exception {
+        assertThat(london.nextBusinessDay(LocalDate.parse("2016-12-23")), equalTo(LocalDate.parse("2016-12-28")));
+        assertThat(london.nextBusinessDay(LocalDate.parse("2016-12-28")), equalTo(LocalDate.parse("2016-12-29")));
+        assertThat(london.previousBusinessDay(LocalDate.parse("2016-12-28")), equalTo(LocalDate.parse("2016-12-23")));
+        assertThat(london.previousBusinessDay(LocalDate.parse("2017-01-03")), equalTo(LocalDate.parse("2016-12-30")));
+    }
+
+    @Test
+    public void finds_next_business_day_across_many_non_business_days() throws Exception {
+        BusinessCalendar calendar = BusinessCalendar.builder("Sparse", LocalDate.parse("2016-01-01"), LocalDate.parse("2016-12-31"))
+                .weekend(1, 2, 3, 4, 5, 6, 7)
+                .build();
+        BusinessCalendar withOneDay = calendar.or(BusinessCalendar.builder("One", LocalDate.parse("2016-01-01"), LocalDate.parse("2016-12-31"))
+                .weekend(1, 2, 3, 4, 6, 7)
+                .build()
+                .and(BusinessCalendar.builder("Late", LocalDate.parse("2016-11-01"), LocalDate.parse("2016-12-31")).build()));
+        assertThat(withOneDay.nextBusinessDay(LocalDate.parse("2016-11-01")), equalTo(LocalDate.parse("2016-11-04")));
+    }
+
+    @Test
+    public void adds_business_days() throws Exception {
+        assertThat(london.addBusinessDays(LocalDate.parse("2016-12-22"), 2), equalTo(LocalDate.parse("2016-12-28")));
+        assertThat(london.addBusinessDays(LocalDate.parse("2016-12-28"), -2), equalTo(LocalDate.parse("2016-12-22")));
+        assertThat(london.addBusinessDays(LocalDate.parse("2016-12-24"), 0), equalTo(LocalDate.parse("2016-12-28")));
+        assertThat(london.addBusinessDays(LocalDate.parse("2016-12-23"), 0), equalTo(LocalDate.parse("2016-12-23")));
+        assertThat(london.addBusinessDays(LocalDate.parse("2016-01-01"), 250), equalTo(LocalDate.parse("2016-12-16")));
+        assertThat(london.addBusinessDays(LocalDate.parse("2016-12-16"), -250), equalTo(LocalDate.parse("2016-01-01")));
+    }
+
+    @Test
+    public void combines_calendars() throws Exception {
+        BusinessCalendar both = london.and(newYork);
+        assertThat(both.getFirstDate(), equalTo(LocalDate.parse("2016-06-01")));
+        assertThat(both.getLastDate(), equalTo(LocalDate.parse("2017-12-31")));
+        assertThat(both.isBusinessDay(LocalDate.parse("2016-12-27")), equalTo(false));
+        assertThat(both.isBusinessDay(LocalDate.parse("2017-01-16")), equalTo(false));
+        BusinessCalendar either = london.or(newYork);
+        assertThat(either.isBusinessDay(LocalDate.parse("2016-12-27")), equalTo(true));
+        assertThat(either.isBusinessDay(LocalDate.parse("2017-01-16")), equalTo(true));
+        assertThat(either.isBusinessDay(LocalDate.parse("2017-01-02")), equalTo(false));
+    }
+
+    @Test
+    public void handles_dates_before_epoch() throws Exception {
+        BusinessCalendar calendar = BusinessCalendar.builder("Old", LocalDate.parse("1969-12-01"), LocalDate.parse("1970-01-31")).build();
+        assertThat(calendar.isBusinessDay(LocalDate.parse("1969-12-31")), equalTo(true));
+        assertThat(calendar.nextBusinessDay(LocalDate.parse("1969-12-31")), equalTo(LocalDate.parse("1970-01-01")));
+        assertThat(calendar.nextBusinessDay(LocalDate.parse("1970-01-02")), equalTo(LocalDate.parse("1970-01-05")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_dates_outside_range() throws Exception {
+        london.isBusinessDay(LocalDate.parse("2018-01-01"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_to_add_beyond_range() throws Exception {
+        london.addBusinessDays(LocalDate.parse("2017-12-28"), 5);
+    }
+}
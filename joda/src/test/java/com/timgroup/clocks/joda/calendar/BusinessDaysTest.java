@@ -0,0 +1,59 @@
+package com.timgroup.clocks.joda.calendar;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import com.timgroup.clocks.joda.JodaClock;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class BusinessDaysTest {
+    private final BusinessCalendar london = BusinessCalendar.builder("London", LocalDate.parse("2016-01-01"), LocalDate.parse("2017-12-31"))
+            .holiday(LocalDate.parse("2016-12-26"))
+            .holiday(LocalDate.parse("2016-12-27"))
+            .build();
+
+    private Instant now = Instant.parse("2016-12-23T12:00:00Z");
+    private final JodaClock clock = JodaClock.using(new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("Europe/London");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    });
+
+    @Test
+    public void answers_for_today_according_to_clock() throws Exception {
+        BusinessDays businessDays = new BusinessDays(london, clock);
+        assertThat(businessDays.isBusinessDay(), equalTo(true));
+        assertThat(businessDays.nextBusinessDay(), equalTo(LocalDate.parse("2016-12-28")));
+        assertThat(businessDays.addBusinessDays(2), equalTo(LocalDate.parse("2016-12-29")));
+    }
+
+    @Test
+    public void follows_clock_to_next_day() throws Exception {
+        BusinessDays businessDays = new BusinessDays(london, clock);
+        LocalDate next = businessDays.nextBusinessDay();
+        now = Instant.parse("2016-12-23T23:59:59Z");
+        assertThat(businessDays.nextBusinessDay(), sameInstance(next));
+        now = Instant.parse("2016-12-24T00:00:00Z");
+        assertThat(businessDays.isBusinessDay(), equalTo(false));
+        now = Instant.parse("2016-12-28T00:00:00Z");
+        assertThat(businessDays.isBusinessDay(), equalTo(true));
+        assertThat(businessDays.nextBusinessDay(), equalTo(LocalDate.parse("2016-12-29")));
+    }
+}
@@ -0,0 +1,75 @@
+package com.timgroup.clocks.joda.calendar;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import com.timgroup.clocks.joda.JodaClock;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class FireTimesTest {
+    private Instant now = Instant.parse("2016-08-26T08:00:00Z");
+    private final JodaClock clock = JodaClock.using(new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    });
+
+    @Test
+    public void finds_next_fire_time_after_now() throws Exception {
+        FireTimes fireTimes = Schedule.parse("09:00,17:00 UTC").fireTimes(clock, 10);
+        assertThat(fireTimes.nextFireInstant(), equalTo(Instant.parse("2016-08-26T09:00:00Z")));
+        assertThat(fireTimes.nextFire(), equalTo(org.joda.time.Instant.parse("2016-08-26T09:00:00Z")));
+        assertThat(fireTimes.untilNextFire(), equalTo(Duration.ofHours(1)));
+    }
+
+    @Test
+    public void fire_time_is_strictly_after_now() throws Exception {
+        FireTimes fireTimes = Schedule.parse("09:00,17:00 UTC").fireTimes(clock, 10);
+        now = Instant.parse("2016-08-26T09:00:00Z");
+        assertThat(fireTimes.nextFireInstant(), equalTo(Instant.parse("2016-08-26T17:00:00Z")));
+    }
+
+    @Test
+    public void recomputes_fire_times_beyond_window() throws Exception {
+        FireTimes fireTimes = Schedule.parse("09:00,17:00 UTC").fireTimes(clock, 2);
+        assertThat(fireTimes.nextFireInstant(), equalTo(Instant.parse("2016-08-26T09:00:00Z")));
+        now = Instant.parse("2016-08-26T17:00:00Z");
+        assertThat(fireTimes.nextFireInstant(), equalTo(Instant.parse("2016-08-27T09:00:00Z")));
+        now = Instant.parse("2016-09-30T12:00:00Z");
+        assertThat(fireTimes.nextFireInstant(), equalTo(Instant.parse("2016-09-30T17:00:00Z")));
+    }
+
+    @Test
+    public void recomputes_fire_times_if_clock_goes_back() throws Exception {
+        FireTimes fireTimes = Schedule.parse("09:00,17:00 UTC").fireTimes(clock, 10);
+        now = Instant.parse("2016-08-27T12:00:00Z");
+        assertThat(fireTimes.nextFireInstant(), equalTo(Instant.parse("2016-08-27T17:00:00Z")));
+        now = Instant.parse("2016-08-20T12:00:00Z");
+        assertThat(fireTimes.nextFireInstant(), equalTo(Instant.parse("2016-08-20T17:00:00Z")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fails_when_schedule_never_fires_again() throws Exception {
+        BusinessCalendar calendar = BusinessCalendar.builder("Short", org.joda.time.LocalDate.parse("2016-08-01"), org.joda.time.LocalDate.parse("2016-08-31")).build();
+        FireTimes fireTimes = Schedule.parse("17:30 UTC on business days", calendar).fireTimes(clock, 10);
+        now = Instant.parse("2016-08-31T18:00:00Z");
+        fireTimes.nextFireMillis();
+    }
+}
@@ -0,0 +1,115 @@
+package com.timgroup.clocks.joda.calendar;
+
+import org.joda.time.Instant;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ScheduleTest {
+    private final BusinessCalendar london = BusinessCalendar.builder("London", LocalDate.parse("2016-01-01"), LocalDate.parse("2017-12-31"))
+            .holiday(LocalDate.parse("2016-12-26"))
+            .holiday(LocalDate.parse("2016-12-27"))
+            .build();
+
+    @Test
+    public void fires_at_local_time_on_business_days() throws Exception {
+        Schedule schedule = Schedule.parse("17:30 Europe/London on business days", london);
+        assertThat(fireTimes(schedule, "2016-12-23T18:00:00Z", 2), equalTo(instants("2016-12-28T17:30:00Z", "2016-12-29T17:30:00Z")));
+    }
+
+    @Test
+    public void fires_at_several_local_times_on_weekdays() throws Exception {
+        Schedule schedule = Schedule.parse("09:00,12:00 America/New_York on weekdays");
+        assertThat(fireTimes(schedule, "2016-08-26T15:00:00Z", 3),
+                equalTo(instants("2016-08-26T16:00:00Z", "2016-08-29T13:00:00Z", "2016-08-29T16:00:00Z")));
+    }
+
+    @Test
+    public void fires_late_when_local_time_is_skipped_by_daylight_saving() throws Exception {
+        Schedule schedule = Schedule.parse("01:30 Europe/London");
+        assertThat(fireTimes(schedule, "2016-03-26T12:00:00Z", 2), equalTo(instants("2016-03-27T01:30:00Z", "2016-03-28T00:30:00Z")));
+    }
+
+    @Test
+    public void fires_once_when_local_time_is_repeated_by_daylight_saving() throws Exception {
+        Schedule schedule = Schedule.parse("01:30 Europe/London");
+        assertThat(fireTimes(schedule, "2016-10-29T12:00:00Z", 2), equalTo(instants("2016-10-30T00:30:00Z", "2016-10-31T01:30:00Z")));
+    }
+
+    @Test
+    public void fires_according_to_cron_fields() throws Exception {
+        Schedule schedule = Schedule.parse("0/15 9-10 * * 1-5 UTC");
+        assertThat(fireTimes(schedule, "2016-08-26T10:40:00Z", 3),
+                equalTo(instants("2016-08-26T10:45:00Z", "2016-08-29T09:00:00Z", "2016-08-29T09:15:00Z")));
+    }
+
+    @Test
+    public void fires_on_either_restricted_day_of_month_or_day_of_week() throws Exception {
+        Schedule schedule = Schedule.parse("0 12 13 * 5 UTC");
+        assertThat(fireTimes(schedule, "2016-05-01T00:00:00Z", 3),
+                equalTo(instants("2016-05-06T12:00:00Z", "2016-05-13T12:00:00Z", "2016-05-20T12:00:00Z")));
+    }
+
+    @Test
+    public void accepts_sunday_as_zero() throws Exception {
+        Schedule schedule = Schedule.parse("0 12 * * 0 UTC");
+        assertThat(fireTimes(schedule, "2016-08-26T00:00:00Z", 1), equalTo(instants("2016-08-28T12:00:00Z")));
+    }
+
+    @Test
+    public void finds_next_leap_day() throws Exception {
+        Schedule schedule = Schedule.parse("0 0 29 2 * UTC");
+        assertThat(fireTimes(schedule, "2017-01-01T00:00:00Z", 1), equalTo(instants("2020-02-29T00:00:00Z")));
+    }
+
+    @Test
+    public void stops_firing_at_end_of_business_calendar() throws Exception {
+        Schedule schedule = Schedule.parse("17:30 Europe/London on business days", london);
+        assertThat(fireTimes(schedule, "2017-12-28T18:00:00Z", 5), equalTo(instants("2017-12-29T17:30:00Z")));
+    }
+
+    @Test
+    public void never_fires_on_impossible_date() throws Exception {
+        Schedule schedule = Schedule.parse("0 0 30 2 * UTC");
+        assertThat(fireTimes(schedule, "2017-01-01T00:00:00Z", 1), equalTo(new Instant[0]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejects_invalid_time() throws Exception {
+        Schedule.parse("25:00 UTC");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejects_business_days_without_calendar() throws Exception {
+        Schedule.parse("17:30 Europe/London on business days");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejects_missing_cron_field() throws Exception {
+        Schedule.parse("0 12 * * UTC");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejects_unknown_zone() throws Exception {
+        Schedule.parse("17:30 Nowhere/Special");
+    }
+
+    private static Instant[] fireTimes(Schedule schedule, String after, int count) {
+        long[] millis = schedule.fireTimesAfter(Instant.parse(after).getMillis(), count);
+        Instant[] result = new Instant[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            result[i] = new Instant(millis[i]);
+        }
+        return result;
+    }
+
+    private static Instant[] instants(String... texts) {
+        Instant[] result = new Instant[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            result[i] = Instant.parse(texts[i]);
+        }
+        return result;
+    }
+}
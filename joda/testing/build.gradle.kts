@@ -13,6 +13,7 @@ clocks {
 dependencies {
     api("junit:junit:4.13.2")
     api(project(":joda"))
+    api(project(":testing"))
     testImplementation("junit:junit:4.13.2")
     testImplementation("org.hamcrest:hamcrest-core:2.2")
     testImplementation("org.hamcrest:hamcrest-library:2.2")
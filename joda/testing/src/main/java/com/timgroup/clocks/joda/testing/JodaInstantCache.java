@@ -0,0 +1,27 @@
+package com.timgroup.clocks.joda.testing;
+
+import org.joda.time.Instant;
+
+/**
+ * Holds the last Joda-Time instant created or set, so that views of an unchanged
+ * time return the same instant rather than allocating a new one. Remembering the
+ * instant a clock is set to means that the clock returns that very instance until
+ * time moves again.
+ * <p>
+ * The cached instant is immutable and replaced without locking.
+ */
+final class JodaInstantCache {
+    private Instant last;
+
+    Instant forMillis(long millis) {
+        Instant instant = last;
+        if (instant == null || instant.getMillis() != millis) {
+            last = instant = new Instant(millis);
+        }
+        return instant;
+    }
+
+    void remember(Instant instant) {
+        last = instant;
+    }
+}
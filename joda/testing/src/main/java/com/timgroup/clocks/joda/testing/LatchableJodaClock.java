@@ -1,6 +1,7 @@
 package com.timgroup.clocks.joda.testing;
 
 import com.timgroup.clocks.joda.JodaClock;
+import com.timgroup.clocks.testing.ControlledTime;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Instant;
@@ -9,13 +10,16 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Clock that can be latched to some fixed instant, or offset from a running clock.
+ * <p>
+ * May be safely read and changed from multiple threads.
  *
  * @see ManualJodaClock
+ * @see ControlledTime
  */
 public final class LatchableJodaClock extends JodaClock implements MutableJodaClock {
     private final JodaClock delegate;
-    private Instant fixedInstant;
-    private Duration delegateClockOffset;
+    private final ControlledTime time;
+    private final JodaInstantCache instantCache = new JodaInstantCache();
 
     public LatchableJodaClock(JodaClock delegate) {
         this(delegate, delegate.now(), true);
@@ -23,31 +27,23 @@ public final class LatchableJodaClock extends JodaClock implements MutableJodaCl
 
     public LatchableJodaClock(JodaClock delegate, Instant initialInstant, boolean running) {
         this.delegate = requireNonNull(delegate);
-        requireNonNull(initialInstant);
-        if (running) {
-            this.fixedInstant = null;
-            this.delegateClockOffset = new Duration(initialInstant, delegate.now());
-        }
-        else {
-            this.fixedInstant = initialInstant;
-            this.delegateClockOffset = null;
-        }
+        this.time = new ControlledTime(delegate, java.time.Instant.ofEpochMilli(initialInstant.getMillis()), running);
+        instantCache.remember(initialInstant);
     }
 
     @Override
-    public synchronized Instant now() {
-        if (fixedInstant != null) {
-            return fixedInstant;
-        }
-        return delegate.now().minus(delegateClockOffset);
+    public Instant now() {
+        return instantCache.forMillis(time.millis());
     }
 
     @Override
-    public synchronized long millis() {
-        if (fixedInstant != null) {
-            return fixedInstant.getMillis();
-        }
-        return delegate.millis() - delegateClockOffset.getMillis();
+    public long millis() {
+        return time.millis();
+    }
+
+    @Override
+    public java.time.Instant instant() {
+        return time.instant();
     }
 
     @Override
@@ -55,20 +51,24 @@ public final class LatchableJodaClock extends JodaClock implements MutableJodaCl
         return delegate.getDateTimeZone();
     }
 
+    /**
+     * @return the time shared by this clock and any others created from it
+     */
+    public ControlledTime getTime() {
+        return time;
+    }
+
     public void latch() {
-        latchTo(now());
+        time.latch();
     }
 
-    public synchronized void latchTo(Instant instant) {
-        this.fixedInstant = instant;
-        this.delegateClockOffset = null;
+    public void latchTo(Instant instant) {
+        time.latchTo(java.time.Instant.ofEpochMilli(instant.getMillis()));
+        instantCache.remember(instant);
     }
 
-    public synchronized void unlatch() {
-        if (fixedInstant != null) {
-            delegateClockOffset = new Duration(fixedInstant, delegate.now());
-            fixedInstant = null;
-        }
+    public void unlatch() {
+        time.unlatch();
     }
 
     @Override
@@ -82,7 +82,7 @@ public final class LatchableJodaClock extends JodaClock implements MutableJodaCl
 
             @Override
             public long millis() {
-                return LatchableJodaClock.this.millis();
+                return time.millis();
             }
 
             @Override
@@ -102,31 +102,23 @@ public final class LatchableJodaClock extends JodaClock implements MutableJodaCl
         };
     }
 
-    public synchronized void bump(Duration duration) {
+    public void bump(Duration duration) {
         if (duration.compareTo(Duration.ZERO) <= 0) {
             throw new IllegalArgumentException("Duration must be positive");
         }
-        if (fixedInstant == null) {
-            throw new IllegalStateException("Clock must be latched");
-        }
-        fixedInstant = fixedInstant.plus(duration);
+        time.tryBump(java.time.Duration.ofMillis(duration.getMillis()));
     }
 
     @Override
-    public synchronized void advanceTo(Instant futureInstant) {
-        if (futureInstant.isBefore(now())) {
+    public void advanceTo(Instant futureInstant) {
+        if (!time.tryAdvanceTo(java.time.Instant.ofEpochMilli(futureInstant.getMillis()))) {
             throw new IllegalArgumentException("Instant must not be before the current time");
         }
-        latchTo(futureInstant);
+        instantCache.remember(futureInstant);
     }
 
     @Override
-    public synchronized String toString() {
-        if (fixedInstant == null) {
-            return "LatchableClock:" + delegate + "-" + delegateClockOffset;
-        }
-        else {
-            return "LatchableClock:@" + fixedInstant;
-        }
+    public String toString() {
+        return "LatchableClock:" + time;
     }
 }
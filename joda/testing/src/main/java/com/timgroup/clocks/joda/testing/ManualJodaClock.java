@@ -1,6 +1,8 @@
 package com.timgroup.clocks.joda.testing;
 
 import com.timgroup.clocks.joda.JodaClock;
+import com.timgroup.clocks.testing.ControlledTime;
+import com.timgroup.clocks.testing.ManualClock;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Instant;
@@ -9,10 +11,15 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Clock that only updates in positive increments when called directly.
+ * <p>
+ * May be safely read and advanced from multiple threads.
+ *
+ * @see ControlledTime
  */
 public final class ManualJodaClock extends JodaClock implements MutableJodaClock {
-    private Instant instant;
+    private final ControlledTime time;
     private final DateTimeZone zone;
+    private final JodaInstantCache instantCache = new JodaInstantCache();
 
     public static ManualJodaClock initiallyAt(JodaClock clock) {
         return new ManualJodaClock(clock.now(), clock.getDateTimeZone());
@@ -22,8 +29,32 @@ public final class ManualJodaClock extends JodaClock implements MutableJodaClock
         return initiallyAt(JodaClock.getDefault());
     }
 
+    /**
+     * Create a Joda-Time view of a manual clock, sharing its time.
+     *
+     * @param clock manual clock to share time with
+     * @return a clock that sees the same time as the given clock, and advances it when advanced
+     */
+    public static ManualJodaClock sharing(ManualClock clock) {
+        return new ManualJodaClock(clock.getTime(), JodaClock.toDateTimeZone(clock.getZone()));
+    }
+
     public ManualJodaClock(Instant initialInstant, DateTimeZone zone) {
-        this.instant = requireNonNull(initialInstant);
+        this(ControlledTime.fixedAt(java.time.Instant.ofEpochMilli(initialInstant.getMillis())), zone);
+        instantCache.remember(initialInstant);
+    }
+
+    /**
+     * Create a clock sharing its time with other clocks.
+     *
+     * @param time latched time to share
+     * @param zone zone of this clock
+     */
+    public ManualJodaClock(ControlledTime time, DateTimeZone zone) {
+        if (!time.isLatched()) {
+            throw new IllegalArgumentException("Time must be latched");
+        }
+        this.time = time;
         this.zone = requireNonNull(zone);
     }
 
@@ -32,20 +63,30 @@ public final class ManualJodaClock extends JodaClock implements MutableJodaClock
         if (duration.compareTo(Duration.ZERO) < 0) {
             throw new IllegalArgumentException("Duration must be non-negative");
         }
-        instant = instant.plus(duration);
+        time.tryBump(java.time.Duration.ofMillis(duration.getMillis()));
     }
 
     @Override
     public void advanceTo(Instant futureInstant) {
-        if (futureInstant.isBefore(instant)) {
+        if (!time.tryAdvanceTo(java.time.Instant.ofEpochMilli(futureInstant.getMillis()))) {
             throw new IllegalArgumentException("Instant must not be before the current time");
         }
-        instant = futureInstant;
+        instantCache.remember(futureInstant);
     }
 
     @Override
     public Instant now() {
-        return instant;
+        return instantCache.forMillis(time.millis());
+    }
+
+    @Override
+    public long millis() {
+        return time.millis();
+    }
+
+    @Override
+    public java.time.Instant instant() {
+        return time.instant();
     }
 
     @Override
@@ -53,6 +94,13 @@ public final class ManualJodaClock extends JodaClock implements MutableJodaClock
         return zone;
     }
 
+    /**
+     * @return the time shared by this clock and any others created from it
+     */
+    public ControlledTime getTime() {
+        return time;
+    }
+
     @Override
     public JodaClock withZone(DateTimeZone overrideZone) {
         if (overrideZone.equals(zone)) {
@@ -61,7 +109,12 @@ public final class ManualJodaClock extends JodaClock implements MutableJodaClock
         return new JodaClock() {
             @Override
             public Instant now() {
-                return instant;
+                return ManualJodaClock.this.now();
+            }
+
+            @Override
+            public long millis() {
+                return time.millis();
             }
 
             @Override
@@ -83,6 +136,6 @@ public final class ManualJodaClock extends JodaClock implements MutableJodaClock
 
     @Override
     public String toString() {
-        return "ManualJodaClock:" + instant;
+        return "ManualJodaClock:" + now();
     }
 }
@@ -1,9 +1,11 @@
 package com.timgroup.clocks.joda.testing;
 
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import com.timgroup.clocks.joda.JodaClock;
+import com.timgroup.clocks.testing.ControlledTime;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
@@ -17,14 +19,22 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * JUnit rule for resetting time via Joda-Time.
+ * <p>
+ * The fixed time may be advanced from any thread, and the change is immediately
+ * visible to all threads reading the time, including via Joda-Time's static
+ * accessors while the rule is in effect.
+ *
+ * @see ControlledTime
  */
 public final class ResetTime extends JodaClock implements TestRule {
     private final DateTimeZone timeZone;
-    private Instant instant;
+    private final ControlledTime time;
+    private final JodaInstantCache instantCache = new JodaInstantCache();
 
     private ResetTime(Instant timeToResetTo, DateTimeZone timeZone) {
-        this.instant = requireNonNull(timeToResetTo);
+        this.time = ControlledTime.fixedAt(java.time.Instant.ofEpochMilli(timeToResetTo.getMillis()));
         this.timeZone = requireNonNull(timeZone);
+        instantCache.remember(timeToResetTo);
     }
 
     @Override
@@ -64,7 +74,12 @@ public final class ResetTime extends JodaClock implements TestRule {
 
     @Override
     public Instant now() {
-        return instant;
+        return instantCache.forMillis(time.millis());
+    }
+
+    @Override
+    public long millis() {
+        return time.millis();
     }
 
     @Override
@@ -72,6 +87,13 @@ public final class ResetTime extends JodaClock implements TestRule {
         return timeZone;
     }
 
+    /**
+     * @return the time of this rule, which may be shared with other clocks
+     */
+    public ControlledTime getTime() {
+        return time;
+    }
+
     @Override
     public JodaClock withZone(DateTimeZone jodaTimeZone) {
         return new JodaClock() {
@@ -82,7 +104,12 @@ public final class ResetTime extends JodaClock implements TestRule {
 
             @Override
             public Instant now() {
-                return instant;
+                return ResetTime.this.now();
+            }
+
+            @Override
+            public long millis() {
+                return time.millis();
             }
 
             @Override
@@ -107,7 +134,7 @@ public final class ResetTime extends JodaClock implements TestRule {
         if (duration.compareTo(Duration.ZERO) <= 0) {
             throw new IllegalArgumentException("Duration must be positive");
         }
-        instant = instant.plus(duration);
+        time.tryBump(java.time.Duration.ofMillis(duration.getMillis()));
     }
 
     /**
@@ -137,10 +164,23 @@ public final class ResetTime extends JodaClock implements TestRule {
      * @see ManualJodaClock#advanceTo
      */
     public void advanceTo(Instant futureInstant) {
-        if (futureInstant.isBefore(now())) {
+        if (!time.tryAdvanceTo(java.time.Instant.ofEpochMilli(futureInstant.getMillis()))) {
             throw new IllegalArgumentException("Attempted to move back in time from " + now() + " to " + futureInstant);
         }
-        instant = futureInstant;
+        instantCache.remember(futureInstant);
+    }
+
+    /**
+     * Wait for the fixed time to be advanced to at least the given instant, by another thread.
+     *
+     * @param targetInstant Instant to wait for
+     * @param timeout Maximum real time to wait
+     * @param unit Unit of timeout
+     * @return true if the fixed time reached the target instant, false if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitUntil(Instant targetInstant, long timeout, TimeUnit unit) throws InterruptedException {
+        return time.awaitUntil(java.time.Instant.ofEpochMilli(targetInstant.getMillis()), timeout, unit);
     }
 
     /**
@@ -190,6 +230,6 @@ public final class ResetTime extends JodaClock implements TestRule {
 
     @Override
     public String toString() {
-        return "ResetTime.to(" + instant + ")";
+        return "ResetTime.to(" + now() + ")";
     }
 }
@@ -1,6 +1,7 @@
 package com.timgroup.clocks.joda.testing;
 
 import com.timgroup.clocks.joda.JodaClock;
+import com.timgroup.clocks.testing.LatchableClock;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Instant;
@@ -8,6 +9,7 @@ import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.joda.time.DateTimeZone.UTC;
 import static org.joda.time.Duration.millis;
 import static org.joda.time.Duration.standardSeconds;
@@ -91,4 +93,30 @@ public class LatchableJodaClockTest {
         assertThat(derivedClock.now(), equalTo(Instant.parse("2016-08-26T19:00:00Z")));
         assertThat(derivedClock.getDateTimeZone(), equalTo(DateTimeZone.forID("America/Los_Angeles")));
     }
+
+    @Test
+    public void shares_latching_with_java_time_latchable_clock() throws Exception {
+        ManualJodaClock underlying = new ManualJodaClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+        LatchableJodaClock clock = new LatchableJodaClock(underlying);
+        LatchableClock javaClock = new LatchableClock(clock.getTime(), java.time.ZoneOffset.UTC);
+        javaClock.latch();
+        underlying.bumpSeconds(1);
+        assertThat(clock.now(), equalTo(Instant.parse("2016-08-26T18:30:00Z")));
+        clock.bump(standardSeconds(5));
+        assertThat(javaClock.instant(), equalTo(java.time.Instant.parse("2016-08-26T18:30:05Z")));
+        clock.unlatch();
+        underlying.bumpSeconds(1);
+        assertThat(javaClock.instant(), equalTo(java.time.Instant.parse("2016-08-26T18:30:06Z")));
+    }
+
+    @Test
+    public void returns_instant_it_was_latched_to() throws Exception {
+        LatchableJodaClock clock = new LatchableJodaClock(JodaClock.getDefault());
+        Instant latched = Instant.parse("2016-06-10T10:11:12Z");
+        clock.latchTo(latched);
+        assertThat(clock.now(), sameInstance(latched));
+        Instant later = Instant.parse("2016-06-10T10:11:13Z");
+        clock.advanceTo(later);
+        assertThat(clock.now(), sameInstance(later));
+    }
 }
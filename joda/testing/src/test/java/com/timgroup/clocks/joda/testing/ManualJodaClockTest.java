@@ -1,6 +1,7 @@
 package com.timgroup.clocks.joda.testing;
 
 import com.timgroup.clocks.joda.JodaClock;
+import com.timgroup.clocks.testing.ManualClock;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Instant;
@@ -114,4 +115,36 @@ public class ManualJodaClockTest {
         ManualJodaClock clock = new ManualJodaClock(Instant.parse("2020-12-25T01:02:03Z"), UTC);
         clock.advanceTo(Instant.parse("2017-02-03T12:05:03Z"));
     }
+
+    @Test
+    public void shares_time_with_java_time_manual_clock() throws Exception {
+        ManualClock javaClock = new ManualClock(java.time.Instant.parse("2016-08-26T18:30:00Z"), java.time.ZoneOffset.UTC);
+        ManualJodaClock clock = ManualJodaClock.sharing(javaClock);
+        javaClock.bumpSeconds(5);
+        assertThat(clock.now(), equalTo(Instant.parse("2016-08-26T18:30:05Z")));
+        clock.bumpMillis(250);
+        assertThat(javaClock.instant(), equalTo(java.time.Instant.parse("2016-08-26T18:30:05.250Z")));
+    }
+
+    @Test
+    public void zone_views_of_shared_time_see_changes_through_either_api() throws Exception {
+        ManualClock javaClock = new ManualClock(java.time.Instant.parse("2016-08-26T18:30:00Z"), java.time.ZoneOffset.UTC);
+        ManualJodaClock clock = ManualJodaClock.sharing(javaClock);
+        JodaClock jodaView = clock.withZone(DateTimeZone.forID("America/Los_Angeles"));
+        java.time.Clock javaView = javaClock.withZone(java.time.ZoneId.of("Europe/London"));
+        javaClock.advanceTo(java.time.Instant.parse("2016-08-26T18:31:00Z"));
+        assertThat(jodaView.now(), equalTo(Instant.parse("2016-08-26T18:31:00Z")));
+        clock.advanceTo(Instant.parse("2016-08-26T18:32:00Z"));
+        assertThat(javaView.instant(), equalTo(java.time.Instant.parse("2016-08-26T18:32:00Z")));
+    }
+
+    @Test
+    public void returns_instant_it_was_set_to() throws Exception {
+        Instant initial = Instant.parse("2016-06-10T10:11:12Z");
+        ManualJodaClock clock = new ManualJodaClock(initial, UTC);
+        assertThat(clock.now(), sameInstance(initial));
+        Instant later = Instant.parse("2016-06-10T10:11:13Z");
+        clock.advanceTo(later);
+        assertThat(clock.now(), sameInstance(later));
+    }
 }
@@ -2,8 +2,15 @@ package com.timgroup.clocks.joda.testing;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import com.timgroup.clocks.testing.ManualClock;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
 import org.joda.time.DateTimeZone;
 import org.joda.time.Duration;
 import org.joda.time.Instant;
@@ -15,6 +22,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class ResetTimeTest {
     private final Instant fixedInstant = Instant.parse("1992-01-31T14:23:00Z");
@@ -123,4 +131,60 @@ public class ResetTimeTest {
         ResetTime resetTime = ResetTime.to(fixedInstant);
         resetTime.advanceTo(fixedInstant.minus(Duration.standardHours(2)));
     }
+
+    @Test
+    public void bumps_are_visible_to_other_threads() throws Exception {
+        ResetTime resetTime = ResetTime.to(fixedInstant);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (ResetTime.Resource ignored = resetTime.open()) {
+            Future<Boolean> waiter = executor.submit(() -> {
+                while (DateTimeUtils.currentTimeMillis() < fixedInstant.getMillis() + 1000L) {
+                    Thread.yield();
+                }
+                return true;
+            });
+            resetTime.bumpSeconds(1);
+            assertThat(waiter.get(10, TimeUnit.SECONDS), equalTo(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void awaits_time_advanced_by_other_thread() throws Exception {
+        ResetTime resetTime = ResetTime.to(fixedInstant);
+        CompletableFuture<Void> bumper = CompletableFuture.runAsync(() -> {
+            resetTime.bumpSeconds(30);
+            resetTime.bumpSeconds(30);
+        });
+        assertThat(resetTime.awaitUntil(fixedInstant.plus(Duration.standardMinutes(1)), 10, TimeUnit.SECONDS), equalTo(true));
+        bumper.get();
+        assertThat(resetTime.now(), equalTo(fixedInstant.plus(Duration.standardMinutes(1))));
+    }
+
+    @Test
+    public void gives_up_waiting_for_time_after_timeout() throws Exception {
+        ResetTime resetTime = ResetTime.to(fixedInstant);
+        assertThat(resetTime.awaitUntil(fixedInstant.plus(1L), 10, TimeUnit.MILLISECONDS), equalTo(false));
+        assertThat(resetTime.awaitUntil(fixedInstant, 0, TimeUnit.MILLISECONDS), equalTo(true));
+    }
+
+    @Test
+    public void shares_time_with_java_time_manual_clock() throws Exception {
+        ResetTime resetTime = ResetTime.to(fixedInstant);
+        ManualClock javaClock = new ManualClock(resetTime.getTime(), java.time.ZoneOffset.UTC);
+        javaClock.bumpSeconds(1);
+        assertThat(resetTime.withZone(fixedTimeZone).now(), equalTo(fixedInstant.plus(Duration.standardSeconds(1))));
+        resetTime.bumpSeconds(1);
+        assertThat(javaClock.millis(), equalTo(fixedInstant.plus(Duration.standardSeconds(2)).getMillis()));
+    }
+
+    @Test
+    public void returns_instant_it_was_reset_to() throws Exception {
+        ResetTime resetTime = ResetTime.to(fixedInstant, fixedTimeZone);
+        assertThat(resetTime.now(), sameInstance(fixedInstant));
+        Instant later = Instant.parse("1992-01-31T14:24:00Z");
+        resetTime.advanceTo(later);
+        assertThat(resetTime.now(), sameInstance(later));
+    }
 }
@@ -3,3 +3,6 @@ rootProject.name = "clocks"
 include("joda")
 include("testing")
 include("joda:testing")
+include("timing")
+include("agent")
+include("stress")
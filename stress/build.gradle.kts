@@ -0,0 +1,35 @@
+plugins {
+    id("java-common-conventions")
+}
+
+description = "jcstress tests of the mutable clocks under concurrent use"
+
+val jcstress by sourceSets.creating
+
+val jcstressImplementation by configurations.getting
+val jcstressAnnotationProcessor by configurations.getting
+
+dependencies {
+    jcstressImplementation(project(":testing"))
+    jcstressImplementation(project(":joda:testing"))
+    jcstressImplementation("org.openjdk.jcstress:jcstress-core:0.16")
+    jcstressAnnotationProcessor("org.openjdk.jcstress:jcstress-core:0.16")
+}
+
+// takes a long time, so only compiled by check: run explicitly, e.g. ./gradlew :stress:jcstress -Pjcstress.args="-m quick"
+tasks.register<JavaExec>("jcstress") {
+    description = "Runs the jcstress tests"
+    group = "verification"
+    classpath = jcstress.runtimeClasspath
+    mainClass.set("org.openjdk.jcstress.Main")
+    val reportDir = layout.buildDirectory.dir("jcstress").get().asFile
+    workingDir = reportDir
+    args = (findProperty("jcstress.args") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+    doFirst {
+        reportDir.mkdirs()
+    }
+}
+
+tasks.named("check") {
+    dependsOn(tasks.named(jcstress.classesTaskName))
+}
@@ -0,0 +1,48 @@
+package com.timgroup.clocks.stress;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import com.timgroup.clocks.testing.LatchableClock;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.JJ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Description("Bumping a running clock as it is latched is either rejected or applied to the latched time")
+@Outcome(id = "0, 0", expect = ACCEPTABLE, desc = "Bump rejected before latching")
+@Outcome(id = "1, 1", expect = ACCEPTABLE, desc = "Bump applied after latching")
+@Outcome(expect = FORBIDDEN, desc = "Bump lost or applied to the running time")
+@State
+public class LatchableClockBumpStress {
+    private final LatchableClock clock = new LatchableClock(Clock.fixed(Instant.ofEpochMilli(1000), ZoneOffset.UTC), Instant.EPOCH, true);
+
+    @Actor
+    public void latch() {
+        clock.latch();
+    }
+
+    @Actor
+    public void bump(JJ_Result r) {
+        try {
+            clock.bump(Duration.ofMillis(1));
+            r.r1 = 1;
+        } catch (IllegalStateException e) {
+            r.r1 = 0;
+        }
+    }
+
+    @Arbiter
+    public void read(JJ_Result r) {
+        r.r2 = clock.millis();
+    }
+}
@@ -0,0 +1,41 @@
+package com.timgroup.clocks.stress;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import com.timgroup.clocks.testing.LatchableClock;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.JJ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE_INTERESTING;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Description("Latching and unlatching a clock running from a fixed delegate only ever shows the initial or latched time")
+@Outcome(id = {"0, 0", "500, 500"}, expect = ACCEPTABLE, desc = "Both reads before latching, or after")
+@Outcome(id = "0, 500", expect = ACCEPTABLE_INTERESTING, desc = "Latched between reads")
+@Outcome(expect = FORBIDDEN, desc = "Time went backwards, or the delegate's time or offset was seen")
+@State
+public class LatchableClockLatchStress {
+    private final LatchableClock clock = new LatchableClock(Clock.fixed(Instant.ofEpochMilli(1000), ZoneOffset.UTC), Instant.EPOCH, true);
+    private final Clock view = clock.withZone(ZoneId.of("Europe/London"));
+
+    @Actor
+    public void latch() {
+        clock.latchTo(Instant.ofEpochMilli(500));
+        clock.unlatch();
+    }
+
+    @Actor
+    public void read(JJ_Result r) {
+        r.r1 = view.millis();
+        r.r2 = clock.instant().toEpochMilli();
+    }
+}
@@ -0,0 +1,39 @@
+package com.timgroup.clocks.stress;
+
+import com.timgroup.clocks.joda.JodaClock;
+import com.timgroup.clocks.joda.testing.LatchableJodaClock;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Instant;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.JJ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE_INTERESTING;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Description("Latching and unlatching a Joda-Time clock running from a fixed delegate only ever shows the initial or latched time")
+@Outcome(id = {"0, 0", "500, 500"}, expect = ACCEPTABLE, desc = "Both reads before latching, or after")
+@Outcome(id = "0, 500", expect = ACCEPTABLE_INTERESTING, desc = "Latched between reads")
+@Outcome(expect = FORBIDDEN, desc = "Time went backwards, or the delegate's time or offset was seen")
+@State
+public class LatchableJodaClockLatchStress {
+    private final LatchableJodaClock clock = new LatchableJodaClock(JodaClock.fixed(new Instant(1000), DateTimeZone.UTC), new Instant(0), true);
+    private final JodaClock view = clock.withZone(DateTimeZone.forID("Europe/London"));
+
+    @Actor
+    public void latch() {
+        clock.latchTo(new Instant(500));
+        clock.unlatch();
+    }
+
+    @Actor
+    public void read(JJ_Result r) {
+        r.r1 = view.now().getMillis();
+        r.r2 = clock.millis();
+    }
+}
@@ -0,0 +1,42 @@
+package com.timgroup.clocks.stress;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.J_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Description("Advancing a manual clock to an instant while it is bumped applies both in some order")
+@Outcome(id = "10", expect = ACCEPTABLE, desc = "Bumped, then advanced")
+@Outcome(id = "11", expect = ACCEPTABLE, desc = "Advanced, then bumped")
+@Outcome(expect = FORBIDDEN, desc = "Change lost")
+@State
+public class ManualClockAdvanceStress {
+    private final ManualClock clock = new ManualClock(Instant.EPOCH, ZoneOffset.UTC);
+
+    @Actor
+    public void advance() {
+        clock.advanceTo(Instant.ofEpochMilli(10));
+    }
+
+    @Actor
+    public void bump() {
+        clock.bump(Duration.ofMillis(1));
+    }
+
+    @Arbiter
+    public void read(J_Result r) {
+        r.r1 = clock.millis();
+    }
+}
@@ -0,0 +1,41 @@
+package com.timgroup.clocks.stress;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.J_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Description("Concurrent bumps of a manual clock are all applied")
+@Outcome(id = "3", expect = ACCEPTABLE, desc = "All bumps applied")
+@Outcome(expect = FORBIDDEN, desc = "Bump lost")
+@State
+public class ManualClockBumpStress {
+    private final ManualClock clock = new ManualClock(Instant.EPOCH, ZoneOffset.UTC);
+
+    @Actor
+    public void bumpOne() {
+        clock.bump(Duration.ofMillis(1));
+    }
+
+    @Actor
+    public void bumpTwo() {
+        clock.bump(Duration.ofMillis(2));
+    }
+
+    @Arbiter
+    public void read(J_Result r) {
+        r.r1 = clock.millis();
+    }
+}
@@ -0,0 +1,42 @@
+package com.timgroup.clocks.stress;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.JJ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE_INTERESTING;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Description("Reads of a manual clock, and of a view of it in another zone, never go backwards while it is bumped")
+@Outcome(id = {"0, 0", "1, 1", "2, 2"}, expect = ACCEPTABLE, desc = "Both reads between the same bumps")
+@Outcome(id = {"0, 1", "0, 2", "1, 2"}, expect = ACCEPTABLE_INTERESTING, desc = "Bumped between reads")
+@Outcome(expect = FORBIDDEN, desc = "Time went backwards, or a bump was seen partly applied")
+@State
+public class ManualClockReadStress {
+    private final ManualClock clock = new ManualClock(Instant.EPOCH, ZoneOffset.UTC);
+    private final Clock view = clock.withZone(ZoneId.of("Europe/London"));
+
+    @Actor
+    public void bump() {
+        clock.bump(Duration.ofMillis(1));
+        clock.bump(Duration.ofMillis(1));
+    }
+
+    @Actor
+    public void read(JJ_Result r) {
+        r.r1 = view.millis();
+        r.r2 = clock.instant().toEpochMilli();
+    }
+}
@@ -0,0 +1,44 @@
+package com.timgroup.clocks.stress;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import com.timgroup.clocks.joda.JodaClock;
+import com.timgroup.clocks.joda.testing.ManualJodaClock;
+import com.timgroup.clocks.testing.ManualClock;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Duration;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.JJ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE_INTERESTING;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Description("A Joda-Time view of a manual clock in another zone sees bumps made through either API, in order")
+@Outcome(id = {"0, 0", "1, 1", "2, 2"}, expect = ACCEPTABLE, desc = "Both reads between the same bumps")
+@Outcome(id = {"0, 1", "0, 2", "1, 2"}, expect = ACCEPTABLE_INTERESTING, desc = "Bumped between reads")
+@Outcome(expect = FORBIDDEN, desc = "Time went backwards, or a bump was lost")
+@State
+public class ManualJodaClockSharingStress {
+    private final ManualClock clock = new ManualClock(Instant.EPOCH, ZoneOffset.UTC);
+    private final ManualJodaClock jodaClock = ManualJodaClock.sharing(clock);
+    private final JodaClock view = jodaClock.withZone(DateTimeZone.forID("Europe/London"));
+
+    @Actor
+    public void bump() {
+        clock.bump(java.time.Duration.ofMillis(1));
+        jodaClock.bump(Duration.millis(1));
+    }
+
+    @Actor
+    public void read(JJ_Result r) {
+        r.r1 = view.now().getMillis();
+        r.r2 = clock.millis();
+    }
+}
@@ -0,0 +1,46 @@
+package com.timgroup.clocks.stress;
+
+import com.timgroup.clocks.joda.JodaClock;
+import com.timgroup.clocks.joda.testing.ResetTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.Instant;
+import org.openjdk.jcstress.annotations.Actor;
+import org.openjdk.jcstress.annotations.Arbiter;
+import org.openjdk.jcstress.annotations.Description;
+import org.openjdk.jcstress.annotations.JCStressTest;
+import org.openjdk.jcstress.annotations.Outcome;
+import org.openjdk.jcstress.annotations.State;
+import org.openjdk.jcstress.infra.results.JJ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+@JCStressTest
+@Description("Concurrent bumps of a reset time are all applied, and a view in another zone sees them")
+@Outcome(id = {"0, 3", "1, 3", "2, 3", "3, 3"}, expect = ACCEPTABLE, desc = "All bumps applied, read before, between or after them")
+@Outcome(expect = FORBIDDEN, desc = "Bump lost, or seen partly applied")
+@State
+public class ResetTimeBumpStress {
+    private final ResetTime resetTime = ResetTime.to(new Instant(0), DateTimeZone.UTC);
+    private final JodaClock view = resetTime.withZone(DateTimeZone.forID("Europe/London"));
+
+    @Actor
+    public void bumpOne() {
+        resetTime.bumpMillis(1);
+    }
+
+    @Actor
+    public void bumpTwo() {
+        resetTime.bumpMillis(2);
+    }
+
+    @Actor
+    public void read(JJ_Result r) {
+        r.r1 = view.now().getMillis();
+    }
+
+    @Arbiter
+    public void total(JJ_Result r) {
+        r.r2 = resetTime.millis();
+    }
+}
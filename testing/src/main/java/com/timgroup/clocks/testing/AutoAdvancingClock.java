@@ -0,0 +1,201 @@
+package com.timgroup.clocks.testing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAmount;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Manual clock for deterministic simulations, that skips straight to the next deadline
+ * whenever every participant is sleeping.
+ * <p>
+ * Participants are counted in the style of a {@link java.util.concurrent.Phaser}: register
+ * each worker thread before starting it, have it call {@link #sleep} or {@link #sleepUntil}
+ * instead of waiting in real time, and deregister it when it finishes. As soon as the number
+ * of sleeping threads reaches the number of participants, time is advanced to the earliest
+ * pending deadline and the threads waiting for it are woken, so hours of simulated activity
+ * run as fast as the workers can.
+ * <p>
+ * Time may also be moved by calling {@link #bump} or {@link #advanceTo} on this clock, which
+ * wakes any sleepers whose deadlines have passed. Moving the underlying {@link ManualClock}
+ * directly does not wake sleepers until this clock next advances.
+ */
+public final class AutoAdvancingClock extends Clock implements MutableClock {
+    private static final Comparator<Sleeper> BY_DEADLINE = Comparator.<Sleeper, Instant>comparing(s -> s.deadline).thenComparingLong(s -> s.sequence);
+
+    private final ManualClock clock;
+    private final Object lock = new Object();
+    private final PriorityQueue<Sleeper> sleepers = new PriorityQueue<>(BY_DEADLINE);
+    private int parties;
+    private long sequence;
+
+    public AutoAdvancingClock(ManualClock clock) {
+        this(clock, 0);
+    }
+
+    /**
+     * @param clock clock to advance
+     * @param parties initial number of participants
+     */
+    public AutoAdvancingClock(ManualClock clock, int parties) {
+        if (parties < 0) {
+            throw new IllegalArgumentException("Parties must be non-negative");
+        }
+        this.clock = requireNonNull(clock);
+        this.parties = parties;
+    }
+
+    /**
+     * Add a participant, which must sleep before time can advance automatically.
+     */
+    public void register() {
+        synchronized (lock) {
+            parties++;
+        }
+    }
+
+    /**
+     * Remove a participant, advancing time if all the remaining participants are sleeping.
+     *
+     * @throws IllegalStateException if there are no participants
+     */
+    public void deregister() {
+        synchronized (lock) {
+            if (parties == 0) {
+                throw new IllegalStateException("No participants registered");
+            }
+            parties--;
+            advanceIfIdle();
+        }
+    }
+
+    public void sleep(Duration duration) throws InterruptedException {
+        sleepUntil(clock.instant().plus(duration));
+    }
+
+    /**
+     * Block the calling participant until this clock reaches the given instant.
+     *
+     * @param deadline instant to wake at
+     * @throws InterruptedException if interrupted while sleeping
+     */
+    public void sleepUntil(Instant deadline) throws InterruptedException {
+        requireNonNull(deadline);
+        synchronized (lock) {
+            if (!deadline.isAfter(clock.instant())) {
+                return;
+            }
+            Sleeper sleeper = new Sleeper(deadline, sequence++);
+            sleepers.add(sleeper);
+            advanceIfIdle();
+            try {
+                while (!sleeper.released) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                if (!sleeper.released) {
+                    sleepers.remove(sleeper);
+                }
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void bump(TemporalAmount amountToAdd) {
+        synchronized (lock) {
+            clock.bump(amountToAdd);
+            releaseDue();
+        }
+    }
+
+    @Override
+    public void advanceTo(Instant futureInstant) {
+        synchronized (lock) {
+            clock.advanceTo(futureInstant);
+            releaseDue();
+        }
+    }
+
+    public int getParties() {
+        synchronized (lock) {
+            return parties;
+        }
+    }
+
+    /**
+     * @return number of participants currently sleeping
+     */
+    public int getSleeping() {
+        synchronized (lock) {
+            return sleepers.size();
+        }
+    }
+
+    private void advanceIfIdle() {
+        Sleeper earliest = sleepers.peek();
+        if (earliest == null || sleepers.size() < parties) {
+            return;
+        }
+        if (earliest.deadline.isAfter(clock.instant())) {
+            clock.advanceTo(earliest.deadline);
+        }
+        releaseDue();
+    }
+
+    private void releaseDue() {
+        Instant now = clock.instant();
+        boolean released = false;
+        while (!sleepers.isEmpty() && !sleepers.peek().deadline.isAfter(now)) {
+            sleepers.poll().released = true;
+            released = true;
+        }
+        if (released) {
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public Instant instant() {
+        return clock.instant();
+    }
+
+    @Override
+    public long millis() {
+        return clock.millis();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return clock.getZone();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        if (zone.equals(clock.getZone())) {
+            return this;
+        }
+        return clock.withZone(zone);
+    }
+
+    @Override
+    public String toString() {
+        return "AutoAdvancing:" + clock;
+    }
+
+    private static final class Sleeper {
+        final Instant deadline;
+        final long sequence;
+        boolean released;
+
+        Sleeper(Instant deadline, long sequence) {
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.timgroup.clocks.testing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.TemporalAmount;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Controllable source of time, shared by the manual and latchable clocks.
+ * <p>
+ * Time is either latched to a fixed instant, or running at a fixed offset from
+ * some delegate clock. Several clocks can be views of the same instance (for
+ * example, a {@link ManualClock} and a Joda-Time clock in the joda-testing module),
+ * so that code using either API sees the same time.
+ * <p>
+ * The state is an immutable value replaced under this object's lock and published
+ * through a volatile field, so reads never block or allocate (beyond what the delegate
+ * clock does when running), and changes made by one thread are immediately visible to
+ * all others. The state holds the latched time and the offset as primitive epoch
+ * millis and nanos, computed when time is changed, so reads are a field load or a
+ * subtraction from the delegate's time. It also keeps the latched {@link Instant}
+ * itself, so that {@link #instant()} can return it without allocating, and so that
+ * time can still be latched beyond the range of epoch nanos (years 1677 to 2262).
+ * <p>
+ * Threads may wait for time to be advanced with {@link #awaitUntil}, or be notified of
+ * changes by registering a listener.
+ */
+public final class ControlledTime {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final Clock delegate;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile State state;
+
+    public static ControlledTime fixedAt(Instant instant) {
+        return new ControlledTime(null, instant, false);
+    }
+
+    public static ControlledTime runningFrom(Clock delegate, Instant initialInstant) {
+        return new ControlledTime(requireNonNull(delegate), initialInstant, true);
+    }
+
+    /**
+     * @param delegate clock to run from while not latched, or null if time may only ever be latched
+     * @param initialInstant initial time
+     * @param running true to start running from the delegate clock, false to start latched
+     */
+    public ControlledTime(Clock delegate, Instant initialInstant, boolean running) {
+        requireNonNull(initialInstant);
+        if (running && delegate == null) {
+            throw new IllegalArgumentException("Cannot run without a delegate clock");
+        }
+        this.delegate = delegate;
+        this.state = running ? State.running(Duration.between(initialInstant, delegate.instant())) : State.latched(initialInstant);
+    }
+
+    public Instant instant() {
+        State current = state;
+        if (current.fixedInstant != null) {
+            return current.fixedInstant;
+        }
+        return delegate.instant().minus(current.offset);
+    }
+
+    public long millis() {
+        State current = state;
+        if (current.fixedInstant != null) {
+            return current.fixedMillisInRange ? current.fixedMillis : current.fixedInstant.toEpochMilli();
+        }
+        if (current.offsetIsWholeMillis) {
+            return delegate.millis() - current.offsetMillis;
+        }
+        return delegate.instant().minus(current.offset).toEpochMilli();
+    }
+
+    /**
+     * @return nanoseconds since 1970-01-01T00:00:00Z
+     * @throws ArithmeticException if the current instant is outside the range of a long (years 1677 to 2262)
+     */
+    public long epochNanos() {
+        State current = state;
+        if (current.fixedInstant != null) {
+            if (!current.fixedNanosInRange) {
+                throw new ArithmeticException("Latched instant " + current.fixedInstant + " is outside the range of epoch nanos");
+            }
+            return current.fixedEpochNanos;
+        }
+        Instant delegateInstant = delegate.instant();
+        if (current.offsetNanosInRange) {
+            return Math.subtractExact(toEpochNanos(delegateInstant), current.offsetNanos);
+        }
+        return toEpochNanos(delegateInstant.minus(current.offset));
+    }
+
+    private static long toEpochNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+    }
+
+    public boolean isLatched() {
+        return state.fixedInstant != null;
+    }
+
+    public Clock getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return amount of time this is behind the delegate clock, or null if latched
+     */
+    public Duration getOffset() {
+        return state.offset;
+    }
+
+    public void latch() {
+        synchronized (this) {
+            state = State.latched(instant());
+            notifyAll();
+        }
+        timeChanged();
+    }
+
+    public void latchTo(Instant instant) {
+        requireNonNull(instant);
+        synchronized (this) {
+            state = State.latched(instant);
+            notifyAll();
+        }
+        timeChanged();
+    }
+
+    public void unlatch() {
+        synchronized (this) {
+            State current = state;
+            if (current.fixedInstant == null) {
+                return;
+            }
+            if (delegate == null) {
+                throw new IllegalStateException("Cannot run without a delegate clock");
+            }
+            state = State.running(Duration.between(current.fixedInstant, delegate.instant()));
+        }
+        timeChanged();
+    }
+
+    /**
+     * Move latched time forwards.
+     *
+     * @param amountToAdd amount of time to add
+     * @return true if time was moved, false if the amount would move time backwards
+     * @throws IllegalStateException if not latched
+     */
+    public boolean tryBump(TemporalAmount amountToAdd) {
+        synchronized (this) {
+            State current = state;
+            if (current.fixedInstant == null) {
+                throw new IllegalStateException("Clock must be latched");
+            }
+            Instant newInstant = current.fixedInstant.plus(amountToAdd);
+            if (newInstant.isBefore(current.fixedInstant)) {
+                return false;
+            }
+            state = State.latched(newInstant);
+            notifyAll();
+        }
+        timeChanged();
+        return true;
+    }
+
+    /**
+     * Latch time to some instant not before the current time.
+     *
+     * @param futureInstant instant to latch to
+     * @return true if time was latched, false if the instant is before the current time
+     */
+    public boolean tryAdvanceTo(Instant futureInstant) {
+        synchronized (this) {
+            if (futureInstant.isBefore(instant())) {
+                return false;
+            }
+            state = State.latched(futureInstant);
+            notifyAll();
+        }
+        timeChanged();
+        return true;
+    }
+
+    /**
+     * Register a callback to run whenever time is latched, unlatched, bumped or advanced.
+     * <p>
+     * Listeners are called on the thread that changed the time, after the change is
+     * visible, and without holding any lock.
+     *
+     * @param listener callback to run
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    private void timeChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Wait for time to be latched to at least the given instant, by another thread.
+     * <p>
+     * Only changes made through this object wake waiters, so while running, this
+     * only notices the delegate clock passing the target instant when time is next
+     * changed or the timeout elapses.
+     *
+     * @param targetInstant instant to wait for
+     * @param timeout maximum real time to wait
+     * @param unit unit of timeout
+     * @return true if time reached the target instant, false if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean awaitUntil(Instant targetInstant, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (instant().isBefore(targetInstant)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        State current = state;
+        if (current.fixedInstant == null) {
+            return delegate + "-" + current.offset;
+        }
+        else {
+            return "@" + current.fixedInstant;
+        }
+    }
+
+    private static final class State {
+        // null while running
+        final Instant fixedInstant;
+        final long fixedMillis;
+        final boolean fixedMillisInRange;
+        final long fixedEpochNanos;
+        final boolean fixedNanosInRange;
+        // null while latched
+        final Duration offset;
+        final long offsetMillis;
+        final boolean offsetIsWholeMillis;
+        final long offsetNanos;
+        final boolean offsetNanosInRange;
+
+        private State(Instant fixedInstant, Duration offset) {
+            this.fixedInstant = fixedInstant;
+            this.offset = offset;
+            long millis = 0;
+            boolean millisInRange = false;
+            long nanos = 0;
+            boolean nanosInRange = false;
+            if (fixedInstant != null) {
+                try {
+                    millis = fixedInstant.toEpochMilli();
+                    millisInRange = true;
+                    nanos = toEpochNanos(fixedInstant);
+                    nanosInRange = true;
+                } catch (ArithmeticException e) {
+                    // too far from the epoch to read as a long, which is reported when read
+                }
+            }
+            this.fixedMillis = millis;
+            this.fixedMillisInRange = millisInRange;
+            this.fixedEpochNanos = nanos;
+            this.fixedNanosInRange = nanosInRange;
+            long wholeOffsetMillis = 0;
+            boolean wholeMillis = false;
+            long offsetInNanos = 0;
+            boolean offsetInRange = false;
+            if (offset != null) {
+                try {
+                    offsetInNanos = offset.toNanos();
+                    offsetInRange = true;
+                } catch (ArithmeticException e) {
+                    // offset too large to apply to delegate nanos directly
+                }
+                if (offset.getNano() % NANOS_PER_MILLI == 0) {
+                    try {
+                        wholeOffsetMillis = offset.toMillis();
+                        wholeMillis = true;
+                    } catch (ArithmeticException e) {
+                        // offset too large to apply to delegate millis directly
+                    }
+                }
+            }
+            this.offsetMillis = wholeOffsetMillis;
+            this.offsetIsWholeMillis = wholeMillis;
+            this.offsetNanos = offsetInNanos;
+            this.offsetNanosInRange = offsetInRange;
+        }
+
+        static State latched(Instant instant) {
+            return new State(instant, null);
+        }
+
+        static State running(Duration offset) {
+            return new State(null, offset);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.timgroup.clocks.testing;
 
 import java.time.Clock;
-import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.temporal.TemporalAmount;
@@ -10,66 +9,72 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Clock that can be latched to some fixed instant, or offset from a running clock.
+ * <p>
+ * May be safely read and changed from multiple threads.
  *
  * @see ManualClock
+ * @see ControlledTime
  */
 public final class LatchableClock extends Clock implements MutableClock {
-    private final Clock delegate;
-    private Instant fixedInstant;
-    private Duration delegateClockOffset;
+    private final ControlledTime time;
+    // null to follow the delegate clock's zone
+    private final ZoneId zone;
 
     public LatchableClock(Clock delegate) {
         this(delegate, delegate.instant(), true);
     }
 
     public LatchableClock(Clock delegate, Instant initialInstant, boolean running) {
-        this.delegate = requireNonNull(delegate);
-        requireNonNull(initialInstant);
-        if (running) {
-            this.fixedInstant = null;
-            this.delegateClockOffset = Duration.between(initialInstant, delegate.instant());
-        }
-        else {
-            this.fixedInstant = initialInstant;
-            this.delegateClockOffset = null;
+        this.time = new ControlledTime(requireNonNull(delegate), initialInstant, running);
+        this.zone = null;
+    }
+
+    /**
+     * Create a clock sharing its time with other clocks.
+     *
+     * @param time time to share
+     * @param zone zone of this clock
+     */
+    public LatchableClock(ControlledTime time, ZoneId zone) {
+        if (time.getDelegate() == null) {
+            throw new IllegalArgumentException("Time must have a delegate clock");
         }
+        this.time = time;
+        this.zone = requireNonNull(zone);
     }
 
     @Override
-    public synchronized Instant instant() {
-        if (fixedInstant != null) {
-            return fixedInstant;
-        }
-        return delegate.instant().minus(delegateClockOffset);
+    public Instant instant() {
+        return time.instant();
     }
 
     @Override
-    public synchronized long millis() {
-        if (fixedInstant != null) {
-            return fixedInstant.toEpochMilli();
-        }
-        return delegate.millis() - delegateClockOffset.toMillis();
+    public long millis() {
+        return time.millis();
     }
 
     @Override
     public ZoneId getZone() {
-        return delegate.getZone();
+        return zone != null ? zone : time.getDelegate().getZone();
     }
 
-    public synchronized void latch() {
-        latchTo(instant());
+    /**
+     * @return the time shared by this clock and any others created from it
+     */
+    public ControlledTime getTime() {
+        return time;
     }
 
-    public synchronized void latchTo(Instant instant) {
-        this.fixedInstant = instant;
-        this.delegateClockOffset = null;
+    public void latch() {
+        time.latch();
     }
 
-    public synchronized void unlatch() {
-        if (fixedInstant != null) {
-            delegateClockOffset = Duration.between(fixedInstant, delegate.instant());
-            fixedInstant = null;
-        }
+    public void latchTo(Instant instant) {
+        time.latchTo(instant);
+    }
+
+    public void unlatch() {
+        time.unlatch();
     }
 
     @Override
@@ -78,12 +83,12 @@ public final class LatchableClock extends Clock implements MutableClock {
         return new Clock() {
             @Override
             public Instant instant() {
-                return LatchableClock.this.instant();
+                return time.instant();
             }
 
             @Override
             public long millis() {
-                return LatchableClock.this.millis();
+                return time.millis();
             }
 
             @Override
@@ -103,32 +108,21 @@ public final class LatchableClock extends Clock implements MutableClock {
         };
     }
 
-    public synchronized void bump(TemporalAmount duration) {
-        if (fixedInstant == null) {
-            throw new IllegalStateException("Clock must be latched");
-        }
-        Instant newInstant = fixedInstant.plus(duration);
-        if (newInstant.isBefore(fixedInstant)) {
+    public void bump(TemporalAmount duration) {
+        if (!time.tryBump(duration)) {
             throw new IllegalArgumentException("Duration must be positive");
         }
-        fixedInstant = fixedInstant.plus(duration);
     }
 
     @Override
-    public synchronized void advanceTo(Instant futureInstant) {
-        if (futureInstant.isBefore(instant())) {
+    public void advanceTo(Instant futureInstant) {
+        if (!time.tryAdvanceTo(futureInstant)) {
             throw new IllegalArgumentException("Instant must not be before the current time");
         }
-        latchTo(futureInstant);
     }
 
     @Override
-    public synchronized String toString() {
-        if (fixedInstant == null) {
-            return "LatchableClock:" + delegate + "-" + delegateClockOffset;
-        }
-        else {
-            return "LatchableClock:@" + fixedInstant;
-        }
+    public String toString() {
+        return "LatchableClock:" + time;
     }
 }
@@ -9,9 +9,13 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * Clock that only updates in positive increments when called directly.
+ * <p>
+ * May be safely read and advanced from multiple threads.
+ *
+ * @see ControlledTime
  */
 public final class ManualClock extends Clock implements MutableClock {
-    private Instant instant;
+    private final ControlledTime time;
     private final ZoneId zone;
 
     public static ManualClock initiallyAt(Clock clock) {
@@ -23,30 +27,45 @@ public final class ManualClock extends Clock implements MutableClock {
     }
 
     public ManualClock(Instant initialInstant, ZoneId zone) {
-        this.instant = requireNonNull(initialInstant);
+        this(ControlledTime.fixedAt(initialInstant), zone);
+    }
+
+    /**
+     * Create a clock sharing its time with other clocks.
+     *
+     * @param time latched time to share
+     * @param zone zone of this clock
+     */
+    public ManualClock(ControlledTime time, ZoneId zone) {
+        if (!time.isLatched()) {
+            throw new IllegalArgumentException("Time must be latched");
+        }
+        this.time = time;
         this.zone = requireNonNull(zone);
     }
 
     @Override
     public void bump(TemporalAmount amountToAdd) {
-        Instant newInstant = instant.plus(amountToAdd);
-        if (newInstant.isBefore(instant)) {
+        if (!time.tryBump(amountToAdd)) {
             throw new IllegalArgumentException("Duration must be non-negative");
         }
-        instant = newInstant;
     }
 
     @Override
     public void advanceTo(Instant futureInstant) {
-        if (futureInstant.isBefore(instant)) {
+        if (!time.tryAdvanceTo(futureInstant)) {
             throw new IllegalArgumentException("Instant must not be before the current time");
         }
-        instant = futureInstant;
     }
 
     @Override
     public Instant instant() {
-        return instant;
+        return time.instant();
+    }
+
+    @Override
+    public long millis() {
+        return time.millis();
     }
 
     @Override
@@ -54,6 +73,13 @@ public final class ManualClock extends Clock implements MutableClock {
         return zone;
     }
 
+    /**
+     * @return the time shared by this clock and any others created from it
+     */
+    public ControlledTime getTime() {
+        return time;
+    }
+
     @Override
     public Clock withZone(ZoneId overrideZone) {
         if (overrideZone.equals(zone)) {
@@ -62,7 +88,12 @@ public final class ManualClock extends Clock implements MutableClock {
         return new Clock() {
             @Override
             public Instant instant() {
-                return instant;
+                return time.instant();
+            }
+
+            @Override
+            public long millis() {
+                return time.millis();
             }
 
             @Override
@@ -84,6 +115,6 @@ public final class ManualClock extends Clock implements MutableClock {
 
     @Override
     public String toString() {
-        return "ManualClock:" + instant;
+        return "ManualClock:" + time.instant();
     }
 }
@@ -0,0 +1,118 @@
+package com.timgroup.clocks.testing;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+public class AutoAdvancingClockTest {
+    private final ManualClock manualClock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+
+    @Test
+    public void single_participant_sleeps_without_waiting() throws Exception {
+        AutoAdvancingClock clock = new AutoAdvancingClock(manualClock, 1);
+        clock.sleep(Duration.ofHours(3));
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T21:30:00Z")));
+    }
+
+    @Test
+    public void sleeping_until_past_instant_returns_immediately() throws Exception {
+        AutoAdvancingClock clock = new AutoAdvancingClock(manualClock, 2);
+        clock.sleepUntil(Instant.parse("2016-08-26T18:00:00Z"));
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:30:00Z")));
+    }
+
+    @Test
+    public void advances_to_earliest_deadline_once_all_participants_sleep() throws Exception {
+        AutoAdvancingClock clock = new AutoAdvancingClock(manualClock, 2);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 3; i++) {
+                sleepQuietly(clock, Duration.ofMinutes(25));
+                events.add("slow@" + clock.instant());
+            }
+            clock.deregister();
+        });
+        CompletableFuture<Void> fast = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 2; i++) {
+                sleepQuietly(clock, Duration.ofMinutes(40));
+                events.add("fast@" + clock.instant());
+            }
+            clock.deregister();
+        });
+        CompletableFuture.allOf(slow, fast).get(10, TimeUnit.SECONDS);
+        assertThat(events, contains(
+                "slow@2016-08-26T18:55:00Z",
+                "fast@2016-08-26T19:10:00Z",
+                "slow@2016-08-26T19:20:00Z",
+                "slow@2016-08-26T19:45:00Z",
+                "fast@2016-08-26T19:50:00Z"));
+    }
+
+    @Test
+    public void does_not_advance_while_a_participant_is_busy() throws Exception {
+        AutoAdvancingClock clock = new AutoAdvancingClock(manualClock, 2);
+        CountDownLatch asleep = new CountDownLatch(1);
+        CompletableFuture<Void> sleeper = CompletableFuture.runAsync(() -> {
+            asleep.countDown();
+            sleepQuietly(clock, Duration.ofMinutes(5));
+        });
+        asleep.await();
+        while (clock.getSleeping() == 0) {
+            Thread.yield();
+        }
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:30:00Z")));
+        clock.deregister();
+        sleeper.get(10, TimeUnit.SECONDS);
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:35:00Z")));
+    }
+
+    @Test
+    public void bumping_wakes_sleepers_whose_deadlines_have_passed() throws Exception {
+        AutoAdvancingClock clock = new AutoAdvancingClock(manualClock, 2);
+        CompletableFuture<Void> sleeper = CompletableFuture.runAsync(() -> sleepQuietly(clock, Duration.ofMinutes(5)));
+        while (clock.getSleeping() == 0) {
+            Thread.yield();
+        }
+        clock.bump(Duration.ofMinutes(10));
+        sleeper.get(10, TimeUnit.SECONDS);
+        assertThat(clock.getSleeping(), equalTo(0));
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:40:00Z")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void refuses_to_deregister_without_participants() throws Exception {
+        new AutoAdvancingClock(manualClock).deregister();
+    }
+
+    @Test
+    public void interrupted_sleeper_stops_sleeping() throws Exception {
+        AutoAdvancingClock clock = new AutoAdvancingClock(manualClock, 2);
+        Thread.currentThread().interrupt();
+        try {
+            clock.sleep(Duration.ofMinutes(5));
+            throw new AssertionError("Expected to be interrupted");
+        } catch (InterruptedException e) {
+            assertThat(clock.getSleeping(), equalTo(0));
+        }
+    }
+
+    private static void sleepQuietly(AutoAdvancingClock clock, Duration duration) {
+        try {
+            clock.sleep(duration);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
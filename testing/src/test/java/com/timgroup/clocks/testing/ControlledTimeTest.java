@@ -0,0 +1,122 @@
+package com.timgroup.clocks.testing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.fail;
+
+public class ControlledTimeTest {
+    @Test
+    public void provides_latched_time_as_instant_millis_and_nanos() throws Exception {
+        ControlledTime time = ControlledTime.fixedAt(Instant.parse("2016-08-26T18:30:00.123456789Z"));
+        assertThat(time.instant(), equalTo(Instant.parse("2016-08-26T18:30:00.123456789Z")));
+        assertThat(time.millis(), equalTo(Instant.parse("2016-08-26T18:30:00.123Z").toEpochMilli()));
+        assertThat(time.epochNanos(), equalTo(1472236200123456789L));
+        assertThat(time.isLatched(), equalTo(true));
+    }
+
+    @Test
+    public void runs_at_offset_from_delegate() throws Exception {
+        ManualClock delegate = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+        ControlledTime time = ControlledTime.runningFrom(delegate, Instant.parse("2016-08-26T18:00:00Z"));
+        delegate.bumpSeconds(1);
+        assertThat(time.instant(), equalTo(Instant.parse("2016-08-26T18:00:01Z")));
+        assertThat(time.millis(), equalTo(Instant.parse("2016-08-26T18:00:01Z").toEpochMilli()));
+        assertThat(time.getOffset(), equalTo(Duration.ofMinutes(30)));
+        assertThat(time.isLatched(), equalTo(false));
+    }
+
+    @Test
+    public void runs_at_sub_millisecond_offset_from_delegate() throws Exception {
+        ManualClock delegate = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+        ControlledTime time = ControlledTime.runningFrom(delegate, Instant.parse("2016-08-26T18:29:59.9995Z"));
+        assertThat(time.instant(), equalTo(Instant.parse("2016-08-26T18:29:59.9995Z")));
+        assertThat(time.millis(), equalTo(Instant.parse("2016-08-26T18:29:59.999Z").toEpochMilli()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void refuses_to_bump_while_running() throws Exception {
+        ControlledTime.runningFrom(Clock.systemUTC(), Instant.parse("2016-08-26T18:00:00Z")).tryBump(Duration.ofSeconds(1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void refuses_to_unlatch_without_delegate() throws Exception {
+        ControlledTime.fixedAt(Instant.parse("2016-08-26T18:00:00Z")).unlatch();
+    }
+
+    @Test
+    public void refuses_to_move_backwards() throws Exception {
+        ControlledTime time = ControlledTime.fixedAt(Instant.parse("2016-08-26T18:00:00Z"));
+        assertThat(time.tryBump(Duration.ofSeconds(-1)), equalTo(false));
+        assertThat(time.tryAdvanceTo(Instant.parse("2016-08-26T17:00:00Z")), equalTo(false));
+        assertThat(time.instant(), equalTo(Instant.parse("2016-08-26T18:00:00Z")));
+    }
+
+    @Test
+    public void can_be_shared_by_several_clocks() throws Exception {
+        ControlledTime time = ControlledTime.fixedAt(Instant.parse("2016-08-26T18:00:00Z"));
+        ManualClock utc = new ManualClock(time, UTC);
+        ManualClock losAngeles = new ManualClock(time, ZoneId.of("America/Los_Angeles"));
+        utc.bumpSeconds(1);
+        assertThat(losAngeles.instant(), equalTo(Instant.parse("2016-08-26T18:00:01Z")));
+        assertThat(losAngeles.getTime(), equalTo(time));
+    }
+
+    @Test
+    public void wakes_waiters_when_advanced() throws Exception {
+        ControlledTime time = ControlledTime.fixedAt(Instant.parse("2016-08-26T18:00:00Z"));
+        CompletableFuture<Void> advancer = CompletableFuture.runAsync(() -> {
+            time.tryBump(Duration.ofSeconds(30));
+            time.tryAdvanceTo(Instant.parse("2016-08-26T18:01:00Z"));
+        });
+        assertThat(time.awaitUntil(Instant.parse("2016-08-26T18:01:00Z"), 10, TimeUnit.SECONDS), equalTo(true));
+        advancer.get();
+        assertThat(time.awaitUntil(Instant.parse("2016-08-26T18:02:00Z"), 10, TimeUnit.MILLISECONDS), equalTo(false));
+    }
+
+    @Test
+    public void provides_running_time_as_epoch_nanos() throws Exception {
+        ManualClock delegate = new ManualClock(Instant.parse("2016-08-26T18:30:00.000000001Z"), UTC);
+        ControlledTime time = ControlledTime.runningFrom(delegate, Instant.parse("2016-08-26T18:00:00Z"));
+        delegate.bump(Duration.ofNanos(999_999));
+        assertThat(time.epochNanos(), equalTo(Instant.parse("2016-08-26T18:00:00Z").getEpochSecond() * 1_000_000_000L + 999_999L));
+        assertThat(time.millis(), equalTo(Instant.parse("2016-08-26T18:00:00Z").toEpochMilli()));
+    }
+
+    @Test
+    public void can_be_latched_beyond_range_of_epoch_nanos() throws Exception {
+        ControlledTime time = ControlledTime.fixedAt(Instant.parse("2300-01-01T00:00:00Z"));
+        assertThat(time.instant(), equalTo(Instant.parse("2300-01-01T00:00:00Z")));
+        assertThat(time.millis(), equalTo(Instant.parse("2300-01-01T00:00:00Z").toEpochMilli()));
+        try {
+            time.epochNanos();
+            fail("Expected ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void notifies_listeners_of_latching_and_unlatching() throws Exception {
+        ManualClock delegate = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+        ControlledTime time = ControlledTime.runningFrom(delegate, Instant.parse("2016-08-26T18:00:00Z"));
+        AtomicInteger changes = new AtomicInteger();
+        time.addListener(changes::incrementAndGet);
+        time.latch();
+        assertThat(changes.get(), equalTo(1));
+        time.unlatch();
+        assertThat(changes.get(), equalTo(2));
+        time.unlatch();
+        assertThat(changes.get(), equalTo(2));
+    }
+}
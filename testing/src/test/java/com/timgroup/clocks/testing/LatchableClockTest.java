@@ -93,4 +93,19 @@ public class LatchableClockTest {
         assertThat(derivedClock.instant(), equalTo(Instant.parse("2016-08-26T19:00:00Z")));
         assertThat(derivedClock.getZone(), equalTo(ZoneId.of("America/Los_Angeles")));
     }
+
+    @Test
+    public void latching_shared_time_latches_all_clocks_sharing_it() throws Exception {
+        ManualClock underlying = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+        LatchableClock clock = new LatchableClock(underlying);
+        LatchableClock other = new LatchableClock(clock.getTime(), ZoneId.of("America/Los_Angeles"));
+        clock.latch();
+        underlying.bumpSeconds(1);
+        assertThat(other.instant(), equalTo(Instant.parse("2016-08-26T18:30:00Z")));
+        other.bump(Duration.ofSeconds(5));
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:30:05Z")));
+        other.unlatch();
+        underlying.bumpSeconds(1);
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:30:06Z")));
+    }
 }
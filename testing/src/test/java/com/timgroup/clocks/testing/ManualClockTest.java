@@ -183,4 +183,16 @@ public class ManualClockTest {
         ManualClock clock = new ManualClock(Instant.parse("2020-12-25T01:02:03Z"), UTC);
         clock.advanceTo(Instant.parse("2017-02-03T12:05:03Z"));
     }
+
+    @Test
+    public void clocks_sharing_time_see_each_others_changes() throws Exception {
+        ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+        ManualClock other = new ManualClock(clock.getTime(), ZoneId.of("America/Los_Angeles"));
+        Clock otherView = other.withZone(ZoneId.of("Europe/London"));
+        clock.bumpSeconds(1);
+        assertThat(otherView.instant(), equalTo(Instant.parse("2016-08-26T18:30:01Z")));
+        other.advanceTo(Instant.parse("2016-08-26T18:31:00Z"));
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:31:00Z")));
+        assertThat(other.getZone(), equalTo(ZoneId.of("America/Los_Angeles")));
+    }
 }
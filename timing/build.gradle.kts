@@ -0,0 +1,19 @@
+plugins {
+    id("java-common-conventions")
+    id("java-publishing-conventions")
+    id("clocks-conventions")
+}
+
+description = "Concurrent utilities driven by an injected java.time.Clock"
+
+clocks {
+    javaModuleName.set("com.timgroup.clocks.timing")
+}
+
+dependencies {
+    api("org.reactivestreams:reactive-streams:1.0.4")
+    testImplementation(project(":testing"))
+    testImplementation("junit:junit:4.13.2")
+    testImplementation("org.hamcrest:hamcrest-core:2.2")
+    testImplementation("org.hamcrest:hamcrest-library:2.2")
+}
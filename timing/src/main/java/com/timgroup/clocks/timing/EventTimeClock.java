@@ -0,0 +1,190 @@
+package com.timgroup.clocks.timing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Clock that follows the timestamps of observed events rather than the wall clock, for
+ * replaying recorded streams as fast as they can be read.
+ * <p>
+ * The time of this clock is the greatest event timestamp observed so far, so it never goes
+ * backwards. The watermark trails it by some allowed lateness: events timestamped before
+ * the watermark are counted as late. Listeners are told each time the watermark crosses
+ * a multiple of the boundary period, for example to close the windows of aggregations;
+ * if several boundaries are crossed at once, only the latest is notified.
+ * <p>
+ * Observing events is lock-free, and only notifies listeners when a boundary is crossed.
+ * Listeners are called by one observing thread at a time, in order. Clocks derived with
+ * {@link #withZone} share the same state.
+ * <p>
+ * Instants are only of millisecond precision.
+ */
+public final class EventTimeClock extends Clock {
+    private final Shared shared;
+    private final ZoneId zone;
+
+    public EventTimeClock(Instant initialInstant, ZoneId zone) {
+        this(initialInstant, zone, Duration.ZERO, Duration.ofMillis(1));
+    }
+
+    /**
+     * @param initialInstant time of this clock before any events are observed
+     * @param zone zone of this clock
+     * @param allowedLateness how far the watermark trails the latest event
+     * @param boundaryPeriod interval between watermark boundaries that listeners are notified of
+     */
+    public EventTimeClock(Instant initialInstant, ZoneId zone, Duration allowedLateness, Duration boundaryPeriod) {
+        this(new Shared(initialInstant.toEpochMilli(), allowedLateness.toMillis(), boundaryPeriod.toMillis()), zone);
+    }
+
+    private EventTimeClock(Shared shared, ZoneId zone) {
+        this.shared = shared;
+        this.zone = requireNonNull(zone);
+    }
+
+    public boolean observe(Instant eventTime) {
+        return observe(eventTime.toEpochMilli());
+    }
+
+    /**
+     * Advance this clock to the event's timestamp, if it is later than the current time.
+     *
+     * @param eventMillis event timestamp, as epoch millis
+     * @return true if the event was on time, false if it was before the watermark
+     */
+    public boolean observe(long eventMillis) {
+        return shared.observe(eventMillis);
+    }
+
+    @Override
+    public long millis() {
+        return shared.maxMillis.get();
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    /**
+     * @return the time before which events are considered late
+     */
+    public Instant getWatermark() {
+        return Instant.ofEpochMilli(shared.maxMillis.get() - shared.latenessMillis);
+    }
+
+    /**
+     * @return the number of events observed before the watermark
+     */
+    public long getLateCount() {
+        return shared.lateCount.sum();
+    }
+
+    /**
+     * Register a callback for the watermark crossing a boundary.
+     *
+     * @param listener callback, given the latest boundary crossed
+     */
+    public void addListener(Consumer<? super Instant> listener) {
+        shared.listeners.add(requireNonNull(listener));
+    }
+
+    public void removeListener(Consumer<? super Instant> listener) {
+        shared.listeners.remove(listener);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId newZone) {
+        if (newZone.equals(zone)) {
+            return this;
+        }
+        return new EventTimeClock(shared, newZone);
+    }
+
+    @Override
+    public String toString() {
+        return "EventTimeClock:" + instant() + "{watermark:" + getWatermark() + "}";
+    }
+
+    private static final class Shared {
+        final AtomicLong maxMillis;
+        final long latenessMillis;
+        final long periodMillis;
+        final LongAdder lateCount = new LongAdder();
+        final List<Consumer<? super Instant>> listeners = new CopyOnWriteArrayList<>();
+        final AtomicBoolean notifying = new AtomicBoolean();
+        volatile long notifiedBoundary;
+
+        Shared(long initialMillis, long latenessMillis, long periodMillis) {
+            if (latenessMillis < 0) {
+                throw new IllegalArgumentException("Allowed lateness must be non-negative");
+            }
+            if (periodMillis <= 0) {
+                throw new IllegalArgumentException("Boundary period must be at least one millisecond");
+            }
+            this.maxMillis = new AtomicLong(initialMillis);
+            this.latenessMillis = latenessMillis;
+            this.periodMillis = periodMillis;
+            this.notifiedBoundary = boundaryOf(initialMillis);
+        }
+
+        boolean observe(long eventMillis) {
+            while (true) {
+                long max = maxMillis.get();
+                if (eventMillis <= max) {
+                    if (eventMillis < max - latenessMillis) {
+                        lateCount.increment();
+                        return false;
+                    }
+                    return true;
+                }
+                if (maxMillis.compareAndSet(max, eventMillis)) {
+                    if (boundaryOf(eventMillis) > notifiedBoundary) {
+                        notifyListeners();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        // whichever thread sets the flag notifies on behalf of all, then rechecks for boundaries crossed meanwhile
+        private void notifyListeners() {
+            do {
+                if (!notifying.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    long boundary = boundaryOf(maxMillis.get());
+                    if (boundary > notifiedBoundary) {
+                        notifiedBoundary = boundary;
+                        Instant boundaryInstant = Instant.ofEpochMilli(boundary * periodMillis);
+                        for (Consumer<? super Instant> listener : listeners) {
+                            listener.accept(boundaryInstant);
+                        }
+                    }
+                } finally {
+                    notifying.set(false);
+                }
+            } while (boundaryOf(maxMillis.get()) > notifiedBoundary);
+        }
+
+        private long boundaryOf(long millis) {
+            return Math.floorDiv(millis - latenessMillis, periodMillis);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.timgroup.clocks.timing;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Clock that never goes backwards, even if the clock it wraps does.
+ * <p>
+ * Each read returns the greater of the wrapped clock's millis and the greatest
+ * millis returned so far, so when the wrapped clock is stepped back (e.g. by NTP),
+ * this clock stands still until it catches up. The number of reads that were
+ * clamped like this is counted. Clocks derived with {@link #withZone} share the
+ * same state.
+ * <p>
+ * Instants are only of millisecond precision. The delegate may be a Joda clock, and the
+ * result used as one with {@code JodaClock.using(new MonotonicClock(jodaClock))}.
+ */
+public final class MonotonicClock extends Clock {
+    private final Clock delegate;
+    private final AtomicLong maxMillis;
+    private final LongAdder clampCount;
+
+    public MonotonicClock(Clock delegate) {
+        this(delegate, new AtomicLong(Long.MIN_VALUE), new LongAdder());
+    }
+
+    private MonotonicClock(Clock delegate, AtomicLong maxMillis, LongAdder clampCount) {
+        this.delegate = requireNonNull(delegate);
+        this.maxMillis = maxMillis;
+        this.clampCount = clampCount;
+    }
+
+    @Override
+    public long millis() {
+        long millis = delegate.millis();
+        while (true) {
+            long max = maxMillis.get();
+            if (millis < max) {
+                clampCount.increment();
+                return max;
+            }
+            if (millis == max || maxMillis.compareAndSet(max, millis)) {
+                return millis;
+            }
+        }
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return delegate.getZone();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        Clock newDelegate = delegate.withZone(zone);
+        if (newDelegate == delegate) {
+            return this;
+        }
+        return new MonotonicClock(newDelegate, maxMillis, clampCount);
+    }
+
+    /**
+     * @return the number of reads at which the wrapped clock was behind the latest time
+     *         returned, so the returned time was held back
+     */
+    public long getClampCount() {
+        return clampCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "MonotonicClock:" + delegate;
+    }
+}
@@ -0,0 +1,193 @@
+package com.timgroup.clocks.timing;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Clock that provides the current local date and time in its zone, the java.time counterpart of
+ * {@code JodaClock}'s {@code today()} and {@code nowLocal()}.
+ * <p>
+ * The zone rules are looked up once. The current offset is cached with the range of instants
+ * between the surrounding transitions for which it is valid, and the current date with the range
+ * of instants the day covers, so most calls only read the wrapped clock and compare its millis
+ * against those ranges, instead of looking up the zone rules as {@link LocalDate#now(Clock)} does.
+ * The cached values are immutable holders replaced without locking, so the clock may be shared
+ * between threads, and any clock may be wrapped, including ones that move backwards.
+ * <p>
+ * Values derived from the time are only of millisecond precision.
+ */
+public final class ZonedClock extends Clock {
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+
+    private final Clock delegate;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private OffsetRange offsetRange;
+    private Day day;
+    private Zoned zoned;
+
+    public ZonedClock(Clock delegate) {
+        this.delegate = requireNonNull(delegate);
+        this.zone = delegate.getZone();
+        this.rules = zone.getRules();
+    }
+
+    public static ZonedClock of(Clock clock) {
+        if (clock instanceof ZonedClock) {
+            return (ZonedClock) clock;
+        }
+        return new ZonedClock(clock);
+    }
+
+    public static ZonedClock systemDefaultZone() {
+        return new ZonedClock(Clock.systemDefaultZone());
+    }
+
+    @Override
+    public long millis() {
+        return delegate.millis();
+    }
+
+    @Override
+    public Instant instant() {
+        return delegate.instant();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public ZoneRules getRules() {
+        return rules;
+    }
+
+    @Override
+    public ZonedClock withZone(ZoneId newZone) {
+        if (newZone.equals(zone)) {
+            return this;
+        }
+        return new ZonedClock(delegate.withZone(newZone));
+    }
+
+    public ZoneOffset currentOffset() {
+        return offsetAt(delegate.millis()).offset;
+    }
+
+    public LocalDate today() {
+        return dayAt(delegate.millis()).date;
+    }
+
+    /**
+     * @return the number of days since 1970-01-01 of the current local date in this clock's zone
+     */
+    public long currentEpochDay() {
+        return dayAt(delegate.millis()).epochDay;
+    }
+
+    public LocalDateTime nowLocal() {
+        long millis = delegate.millis();
+        return toLocal(millis, offsetAt(millis).offset);
+    }
+
+    /**
+     * @return the current date-time in this clock's zone, reused while the clock's millis are unchanged
+     */
+    public ZonedDateTime nowZoned() {
+        long millis = delegate.millis();
+        Zoned current = zoned;
+        if (current == null || current.millis != millis) {
+            ZoneOffset offset = offsetAt(millis).offset;
+            zoned = current = new Zoned(millis, ZonedDateTime.ofLocal(toLocal(millis, offset), zone, offset));
+        }
+        return current.dateTime;
+    }
+
+    private static LocalDateTime toLocal(long millis, ZoneOffset offset) {
+        long seconds = Math.floorDiv(millis, MILLIS_PER_SECOND);
+        int nanos = (int) Math.floorMod(millis, MILLIS_PER_SECOND) * NANOS_PER_MILLI;
+        return LocalDateTime.ofEpochSecond(seconds, nanos, offset);
+    }
+
+    private OffsetRange offsetAt(long millis) {
+        OffsetRange current = offsetRange;
+        if (current == null || millis < current.fromMillis || millis >= current.untilMillis) {
+            offsetRange = current = new OffsetRange(rules, millis);
+        }
+        return current;
+    }
+
+    private Day dayAt(long millis) {
+        Day current = day;
+        if (current == null || millis < current.fromMillis || millis >= current.untilMillis) {
+            LocalDate date = toLocal(millis, offsetAt(millis).offset).toLocalDate();
+            day = current = new Day(date, startOf(date), startOf(date.plusDays(1)));
+        }
+        return current;
+    }
+
+    private long startOf(LocalDate date) {
+        return date.atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public String toString() {
+        return "ZonedClock:" + delegate;
+    }
+
+    private static final class OffsetRange {
+        final ZoneOffset offset;
+        final long fromMillis;
+        final long untilMillis;
+
+        OffsetRange(ZoneRules rules, long millis) {
+            Instant instant = Instant.ofEpochMilli(millis);
+            this.offset = rules.getOffset(instant);
+            if (rules.isFixedOffset()) {
+                this.fromMillis = Long.MIN_VALUE;
+                this.untilMillis = Long.MAX_VALUE;
+            }
+            else {
+                // a transition at exactly this instant is reported as the next one, not the previous
+                ZoneOffsetTransition previous = rules.previousTransition(instant.plusMillis(1));
+                ZoneOffsetTransition next = rules.nextTransition(instant);
+                this.fromMillis = previous == null ? Long.MIN_VALUE : previous.toEpochSecond() * MILLIS_PER_SECOND;
+                this.untilMillis = next == null ? Long.MAX_VALUE : next.toEpochSecond() * MILLIS_PER_SECOND;
+            }
+        }
+    }
+
+    private static final class Day {
+        final LocalDate date;
+        final long epochDay;
+        final long fromMillis;
+        final long untilMillis;
+
+        Day(LocalDate date, long fromMillis, long untilMillis) {
+            this.date = date;
+            this.epochDay = date.toEpochDay();
+            this.fromMillis = fromMillis;
+            this.untilMillis = untilMillis;
+        }
+    }
+
+    private static final class Zoned {
+        final long millis;
+        final ZonedDateTime dateTime;
+
+        Zoned(long millis, ZonedDateTime dateTime) {
+            this.millis = millis;
+            this.dateTime = dateTime;
+        }
+    }
+}
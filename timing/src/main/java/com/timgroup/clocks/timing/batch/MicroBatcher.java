@@ -0,0 +1,216 @@
+package com.timgroup.clocks.timing.batch;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Collects items offered by many threads into batches, which are flushed by a single consumer
+ * when they reach a maximum size or when the oldest item has waited for a maximum delay.
+ * <p>
+ * Deadlines are read from the given clock, so with a manual clock, flush timing is entirely
+ * controlled by the test: after bumping the clock, calling {@link #flushIfDue()} flushes
+ * exactly when the delay has passed. In production, pass the batcher to a thread to
+ * {@link #run()} as the consumer, which parks until the next deadline or until a batch fills.
+ * <p>
+ * Offering an item never blocks: it is added to a lock-free queue, and the consumer is only
+ * woken for the first item of a batch and when a batch fills. The list passed to the flush
+ * callback is reused for the next batch, so must be copied if it is to be kept.
+ * <p>
+ * If the flush callback throws, the batch and the exception are passed to a failure handler,
+ * and the consumer carries on with the next batch. By default, failures are reported to the
+ * consumer thread's uncaught exception handler.
+ */
+public final class MicroBatcher<T> implements Runnable, AutoCloseable {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    // while waiting for real time, check a manual or adjusted clock at least this often
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Clock clock;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final Consumer<? super List<T>> flusher;
+    private final BiConsumer<? super List<T>, ? super RuntimeException> failureHandler;
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong deadline = new AtomicLong(NO_DEADLINE);
+    private final List<T> batch;
+    private volatile Thread consumer;
+    private volatile boolean closed;
+
+    /**
+     * @param clock time source for deadlines
+     * @param maxBatchSize number of items at which a batch is flushed
+     * @param maxDelay maximum time an item waits before being flushed, at least a millisecond
+     * @param flusher callback given each batch, on the consumer thread
+     */
+    public MicroBatcher(Clock clock, int maxBatchSize, Duration maxDelay, Consumer<? super List<T>> flusher) {
+        this(clock, maxBatchSize, maxDelay, flusher, MicroBatcher::reportUncaught);
+    }
+
+    /**
+     * @param clock time source for deadlines
+     * @param maxBatchSize number of items at which a batch is flushed
+     * @param maxDelay maximum time an item waits before being flushed, at least a millisecond
+     * @param flusher callback given each batch, on the consumer thread
+     * @param failureHandler callback given each batch that the flusher threw on, and the exception, on the consumer thread
+     */
+    public MicroBatcher(Clock clock, int maxBatchSize, Duration maxDelay, Consumer<? super List<T>> flusher,
+                        BiConsumer<? super List<T>, ? super RuntimeException> failureHandler) {
+        this.clock = requireNonNull(clock);
+        this.flusher = requireNonNull(flusher);
+        this.failureHandler = requireNonNull(failureHandler);
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelay.toMillis();
+        if (maxDelayMillis <= 0) {
+            throw new IllegalArgumentException("Maximum delay must be at least one millisecond");
+        }
+        this.batch = new ArrayList<>(maxBatchSize);
+    }
+
+    /**
+     * Add an item to the current batch.
+     *
+     * @param item item to add
+     * @throws IllegalStateException if the batcher has been closed
+     */
+    public void offer(T item) {
+        requireNonNull(item);
+        if (closed) {
+            throw new IllegalStateException("Batcher is closed");
+        }
+        queue.add(item);
+        int pending = size.incrementAndGet();
+        if (pending == 1) {
+            deadline.compareAndSet(NO_DEADLINE, clock.millis() + maxDelayMillis);
+            LockSupport.unpark(consumer);
+        }
+        else if (pending == maxBatchSize) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Flush a batch if it is full or its deadline has passed. Must only be called by the single consumer.
+     *
+     * @return number of items flushed
+     */
+    public int flushIfDue() {
+        int pending = size.get();
+        if (pending == 0 || (pending < maxBatchSize && clock.millis() < deadline.get())) {
+            return 0;
+        }
+        return flushBatch(pending);
+    }
+
+    /**
+     * Flush all pending items, in batches of at most the maximum size. Must only be called by the single consumer.
+     *
+     * @return number of items flushed
+     */
+    public int flush() {
+        int flushed = 0;
+        int pending;
+        while ((pending = size.get()) > 0) {
+            flushed += flushBatch(pending);
+        }
+        return flushed;
+    }
+
+    private int flushBatch(int pending) {
+        int count = Math.min(pending, maxBatchSize);
+        for (int i = 0; i < count; i++) {
+            batch.add(queue.poll());
+        }
+        // items offered meanwhile either see no deadline and set their own, or are included in the remainder
+        long batchDeadline = deadline.getAndSet(NO_DEADLINE);
+        if (size.addAndGet(-count) > 0) {
+            deadline.compareAndSet(NO_DEADLINE, batchDeadline);
+        }
+        try {
+            flusher.accept(batch);
+        } catch (RuntimeException e) {
+            failureHandler.accept(batch, e);
+        } finally {
+            batch.clear();
+        }
+        return count;
+    }
+
+    /**
+     * @return time until the current batch is due, zero if it is already due, or null if there is no pending item
+     */
+    public Duration untilDue() {
+        if (size.get() == 0) {
+            return null;
+        }
+        if (size.get() >= maxBatchSize) {
+            return Duration.ZERO;
+        }
+        long due = deadline.get();
+        if (due == NO_DEADLINE) {
+            return null;
+        }
+        return Duration.ofMillis(Math.max(due - clock.millis(), 0));
+    }
+
+    public int pending() {
+        return size.get();
+    }
+
+    /**
+     * Act as the consumer until closed, then flush any remaining items.
+     */
+    @Override
+    public void run() {
+        consumer = Thread.currentThread();
+        try {
+            while (!closed) {
+                if (flushIfDue() > 0) {
+                    continue;
+                }
+                long waitMillis = deadline.get() == NO_DEADLINE ? Long.MAX_VALUE : deadline.get() - clock.millis();
+                if (waitMillis > 0) {
+                    LockSupport.parkNanos(this, Math.min(TimeUnit.MILLISECONDS.toNanos(waitMillis), MAX_PARK_NANOS));
+                }
+            }
+            flush();
+        } finally {
+            consumer = null;
+        }
+    }
+
+    /**
+     * Stop accepting items, and stop the consumer running in {@link #run()} once it has flushed the remaining items.
+     * Items offered concurrently with closing may be left unflushed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(consumer);
+    }
+
+    private static void reportUncaught(List<?> batch, RuntimeException e) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+
+    @Override
+    public String toString() {
+        return "MicroBatcher[" + size.get() + " pending, up to " + maxBatchSize + " or " + Duration.ofMillis(maxDelayMillis) + "]";
+    }
+}
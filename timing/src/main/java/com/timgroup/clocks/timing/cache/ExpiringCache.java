@@ -0,0 +1,222 @@
+package com.timgroup.clocks.timing.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Concurrent cache whose entries expire a fixed time after they were written.
+ * <p>
+ * Expiry is judged against the given clock, so it can be driven by a manual clock
+ * in tests. As every entry lives for the same time, entries are linked in order of
+ * writing, which is their order of expiry, and expired entries are removed in bulk
+ * from the head of the list whenever the cache is written to, or when
+ * {@link #cleanUp()} is called. If the cache grows beyond its maximum size, the
+ * oldest entries are removed first. Rewritten and removed entries are unlinked
+ * immediately, so the list never holds more than one entry per key.
+ * <p>
+ * Reads only consult the map, and do not allocate or lock unless they find an
+ * expired entry. Writes update the list under a lock.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public final class ExpiringCache<K, V> {
+    private final Clock clock;
+    private final long ttlMillis;
+    private final int maximumSize;
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    // sentinel of a circular list of entries, oldest first, guarded by itself
+    private final Entry<K, V> expiryOrder = new Entry<>(null, null, 0);
+    private int linked;
+
+    public ExpiringCache(Clock clock, Duration timeToLive) {
+        this(clock, timeToLive, Integer.MAX_VALUE);
+    }
+
+    public ExpiringCache(Clock clock, Duration timeToLive, int maximumSize) {
+        this.clock = requireNonNull(clock);
+        this.ttlMillis = timeToLive.toMillis();
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Time to live must be at least one millisecond");
+        }
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        expiryOrder.previous = expiryOrder;
+        expiryOrder.next = expiryOrder;
+    }
+
+    /**
+     * @param key key to look up
+     * @return the value for the key, or null if there is none or it has expired
+     */
+    public V get(K key) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            synchronized (expiryOrder) {
+                if (entries.remove(key, entry)) {
+                    unlink(entry);
+                }
+            }
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Get the value for a key, computing and storing a new value if there is none or it has expired.
+     *
+     * @param key key to look up
+     * @param loader function to produce a value for the key
+     * @return the existing or new value for the key
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        long now = clock.millis();
+        // the loader runs under the map's lock for the key, so the list is only updated afterwards
+        Load<K, V> load = new Load<>();
+        Entry<K, V> entry = entries.compute(key, (k, existing) -> {
+            if (existing != null && existing.expiresAt > now) {
+                return existing;
+            }
+            load.replaced = existing;
+            load.created = new Entry<>(k, requireNonNull(loader.apply(k)), now + ttlMillis);
+            return load.created;
+        });
+        if (load.created != null) {
+            synchronized (expiryOrder) {
+                if (load.replaced != null) {
+                    unlink(load.replaced);
+                }
+                // unless already rewritten or removed by another thread
+                if (entries.get(key) == load.created) {
+                    append(load.created);
+                }
+                evict(now);
+            }
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        Entry<K, V> entry = new Entry<>(requireNonNull(key), requireNonNull(value), clock.millis() + ttlMillis);
+        synchronized (expiryOrder) {
+            Entry<K, V> previous = entries.put(key, entry);
+            if (previous != null) {
+                unlink(previous);
+            }
+            append(entry);
+            evict(clock.millis());
+        }
+    }
+
+    public void remove(K key) {
+        synchronized (expiryOrder) {
+            Entry<K, V> previous = entries.remove(key);
+            if (previous != null) {
+                unlink(previous);
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (expiryOrder) {
+            entries.clear();
+            expiryOrder.previous = expiryOrder;
+            expiryOrder.next = expiryOrder;
+            linked = 0;
+        }
+    }
+
+    /**
+     * @return the number of entries held, which may include expired entries not yet cleaned up
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove all expired entries, and the oldest entries beyond the maximum size.
+     */
+    public void cleanUp() {
+        synchronized (expiryOrder) {
+            evict(clock.millis());
+        }
+    }
+
+    /**
+     * @return the number of entries linked in order of expiry, which is never more than one per key
+     */
+    int linkedCount() {
+        synchronized (expiryOrder) {
+            return linked;
+        }
+    }
+
+    private void evict(long now) {
+        Entry<K, V> head;
+        while ((head = expiryOrder.next) != expiryOrder) {
+            if (head.expiresAt > now && entries.size() <= maximumSize) {
+                return;
+            }
+            unlink(head);
+            entries.remove(head.key, head);
+        }
+    }
+
+    private void append(Entry<K, V> entry) {
+        Entry<K, V> tail = expiryOrder.previous;
+        entry.previous = tail;
+        entry.next = expiryOrder;
+        tail.next = entry;
+        expiryOrder.previous = entry;
+        linked++;
+    }
+
+    // a no-op for entries never linked, or already unlinked
+    private void unlink(Entry<K, V> entry) {
+        if (entry.next == null) {
+            return;
+        }
+        entry.previous.next = entry.next;
+        entry.next.previous = entry.previous;
+        entry.previous = null;
+        entry.next = null;
+        linked--;
+    }
+
+    @Override
+    public String toString() {
+        return "ExpiringCache[" + entries.size() + " entries, ttl " + Duration.ofMillis(ttlMillis) + "]";
+    }
+
+    private static final class Load<K, V> {
+        Entry<K, V> replaced;
+        Entry<K, V> created;
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final V value;
+        final long expiresAt;
+        Entry<K, V> previous;
+        Entry<K, V> next;
+
+        Entry(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.timgroup.clocks.timing.failure;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Failure detector for many peers sending regular heartbeats, using the phi accrual method
+ * (Hayashibara et al.): rather than a fixed timeout, it reports a suspicion level phi, derived from
+ * how unlikely the time since the last heartbeat is, given the distribution of recent intervals
+ * between heartbeats. A phi of 1 means about a 10% chance of a mistake in suspecting the peer,
+ * 2 about 1%, 3 about 0.1% and so on.
+ * <p>
+ * Heartbeat times are read from the given clock, so detection can be tested with manual or
+ * skewed clocks. Intervals are kept in a primitive ring buffer per peer, alongside running
+ * sums for the mean and variance, all updated atomically without locking, so heartbeats from
+ * any number of threads can be recorded for thousands of peers. If the clock goes backwards
+ * between heartbeats, the interval is taken as zero.
+ */
+public final class PhiAccrualFailureDetector<K> {
+    private final Clock clock;
+    private final double threshold;
+    private final int windowSize;
+    private final double minStdDeviationMillis;
+    private final double acceptablePauseMillis;
+    private final double firstHeartbeatMillis;
+    private final ConcurrentMap<K, ArrivalWindow> peers = new ConcurrentHashMap<>();
+
+    /**
+     * @param clock time source for heartbeats
+     * @param threshold phi above which a peer is considered unavailable
+     * @param windowSize number of recent intervals to keep per peer
+     * @param minStdDeviation lower bound on the standard deviation of intervals, to avoid suspecting peers whose heartbeats are very regular
+     * @param acceptableHeartbeatPause extra time added to the mean interval, to tolerate pauses
+     * @param firstHeartbeatEstimate expected interval before any have been observed
+     */
+    public PhiAccrualFailureDetector(Clock clock, double threshold, int windowSize, Duration minStdDeviation,
+                                     Duration acceptableHeartbeatPause, Duration firstHeartbeatEstimate) {
+        this.clock = requireNonNull(clock);
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        if (minStdDeviation.isNegative() || minStdDeviation.isZero()) {
+            throw new IllegalArgumentException("Minimum standard deviation must be positive");
+        }
+        if (acceptableHeartbeatPause.isNegative()) {
+            throw new IllegalArgumentException("Acceptable heartbeat pause must be non-negative");
+        }
+        if (firstHeartbeatEstimate.isNegative() || firstHeartbeatEstimate.isZero()) {
+            throw new IllegalArgumentException("First heartbeat estimate must be positive");
+        }
+        this.threshold = threshold;
+        this.windowSize = windowSize;
+        this.minStdDeviationMillis = toFractionalMillis(minStdDeviation);
+        this.acceptablePauseMillis = toFractionalMillis(acceptableHeartbeatPause);
+        this.firstHeartbeatMillis = toFractionalMillis(firstHeartbeatEstimate);
+    }
+
+    // not Duration.toMillis, which would truncate a sub-millisecond minimum standard deviation to zero
+    private static double toFractionalMillis(Duration duration) {
+        return duration.getSeconds() * 1000.0 + duration.getNano() / 1e6;
+    }
+
+    /**
+     * Create a detector with a threshold of 8, keeping 200 intervals per peer, with a minimum
+     * standard deviation of 100ms, no acceptable pause, and an estimate of heartbeats every second.
+     *
+     * @param clock time source for heartbeats
+     * @param <K> type of peer identifiers
+     * @return a new detector
+     */
+    public static <K> PhiAccrualFailureDetector<K> withDefaults(Clock clock) {
+        return new PhiAccrualFailureDetector<>(clock, 8.0, 200, Duration.ofMillis(100), Duration.ZERO, Duration.ofSeconds(1));
+    }
+
+    /**
+     * Record a heartbeat from a peer at the current time, starting to track it if necessary.
+     *
+     * @param peer peer the heartbeat came from
+     */
+    public void heartbeat(K peer) {
+        long now = clock.millis();
+        ArrivalWindow window = peers.get(peer);
+        if (window == null) {
+            window = peers.computeIfAbsent(requireNonNull(peer), p -> new ArrivalWindow(windowSize, now));
+        }
+        window.arrived(now);
+    }
+
+    /**
+     * @param peer peer to check
+     * @return suspicion level that the peer has failed, or zero if it is not being tracked
+     */
+    public double phi(K peer) {
+        ArrivalWindow window = peers.get(peer);
+        if (window == null) {
+            return 0.0;
+        }
+        return window.phi(clock.millis());
+    }
+
+    /**
+     * @param peer peer to check
+     * @return true if the peer's phi is below the threshold, including if it is not being tracked
+     */
+    public boolean isAvailable(K peer) {
+        return phi(peer) < threshold;
+    }
+
+    /**
+     * Stop tracking a peer.
+     *
+     * @param peer peer to forget
+     */
+    public void remove(K peer) {
+        peers.remove(peer);
+    }
+
+    public int getPeerCount() {
+        return peers.size();
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public String toString() {
+        return "PhiAccrualFailureDetector[" + peers.size() + " peers, threshold " + threshold + " @ " + clock + "]";
+    }
+
+    private final class ArrivalWindow {
+        private final AtomicLongArray intervals;
+        private final AtomicLong lastArrival;
+        private final AtomicLong arrivals = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong sumOfSquares = new AtomicLong();
+
+        ArrivalWindow(int windowSize, long firstArrival) {
+            this.intervals = new AtomicLongArray(windowSize);
+            this.lastArrival = new AtomicLong(firstArrival);
+        }
+
+        // each interval is claimed by exactly one caller, and evicts exactly what it overwrites, so the sums stay exact
+        void arrived(long now) {
+            long interval = Math.max(now - lastArrival.getAndSet(now), 0);
+            long sequence = arrivals.getAndIncrement();
+            if (sequence == 0) {
+                // the first arrival only starts the clock
+                return;
+            }
+            long evicted = intervals.getAndSet((int) ((sequence - 1) % intervals.length()), interval);
+            sum.addAndGet(interval - evicted);
+            sumOfSquares.addAndGet(interval * interval - evicted * evicted);
+        }
+
+        double phi(long now) {
+            long count = Math.min(arrivals.get() - 1, intervals.length());
+            double mean;
+            double stdDeviation;
+            if (count <= 0) {
+                mean = firstHeartbeatMillis;
+                stdDeviation = firstHeartbeatMillis / 4;
+            }
+            else {
+                mean = (double) sum.get() / count;
+                double variance = (double) sumOfSquares.get() / count - mean * mean;
+                stdDeviation = Math.sqrt(Math.max(variance, 0));
+            }
+            double elapsed = Math.max(now - lastArrival.get(), 0);
+            return phi(elapsed, mean + acceptablePauseMillis, Math.max(stdDeviation, minStdDeviationMillis));
+        }
+
+        // logistic approximation of the normal distribution's tail, as used by Akka and Cassandra
+        private double phi(double elapsed, double mean, double stdDeviation) {
+            double y = (elapsed - mean) / stdDeviation;
+            double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+            if (elapsed > mean) {
+                return -Math.log10(e / (1.0 + e));
+            }
+            return -Math.log10(1.0 - 1.0 / (1.0 + e));
+        }
+    }
+}
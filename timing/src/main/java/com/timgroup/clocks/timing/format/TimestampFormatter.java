@@ -0,0 +1,66 @@
+package com.timgroup.clocks.timing.format;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Formats timestamps with a java.time formatter for hot paths such as logging, reusing the
+ * formatted text for the current second, as described for {@link SecondCachingFormatter}.
+ */
+public final class TimestampFormatter {
+    private final DateTimeFormatter formatter;
+    private final SecondCachingFormatter<ZoneId> cache;
+
+    private TimestampFormatter(DateTimeFormatter formatter) {
+        this.formatter = requireNonNull(formatter);
+        this.cache = new SecondCachingFormatter<>((epochMillis, zone) -> formatter.format(Instant.ofEpochMilli(epochMillis).atZone(zone)));
+    }
+
+    public static TimestampFormatter of(DateTimeFormatter formatter) {
+        return new TimestampFormatter(formatter);
+    }
+
+    public static TimestampFormatter ofPattern(String pattern) {
+        return new TimestampFormatter(DateTimeFormatter.ofPattern(pattern));
+    }
+
+    public String format(Clock clock) {
+        return cache.format(clock.millis(), clock.getZone());
+    }
+
+    public void formatTo(Clock clock, StringBuilder out) {
+        cache.formatTo(clock.millis(), clock.getZone(), out);
+    }
+
+    /**
+     * @param clock clock to read the current time and zone from
+     * @param buffer buffer to write UTF-8 text into
+     * @param offset position in the buffer to start writing at
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the buffer is too small
+     */
+    public int formatTo(Clock clock, byte[] buffer, int offset) {
+        return cache.formatTo(clock.millis(), clock.getZone(), buffer, offset);
+    }
+
+    public String format(long epochMillis, ZoneId zone) {
+        return cache.format(epochMillis, zone);
+    }
+
+    public void formatTo(long epochMillis, ZoneId zone, StringBuilder out) {
+        cache.formatTo(epochMillis, zone, out);
+    }
+
+    public int formatTo(long epochMillis, ZoneId zone, byte[] buffer, int offset) {
+        return cache.formatTo(epochMillis, zone, buffer, offset);
+    }
+
+    @Override
+    public String toString() {
+        return "TimestampFormatter[" + formatter + "]";
+    }
+}
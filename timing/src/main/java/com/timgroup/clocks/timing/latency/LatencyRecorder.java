@@ -0,0 +1,133 @@
+package com.timgroup.clocks.timing.latency;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Concurrent histogram of latencies in nanoseconds, in logarithmic buckets.
+ * <p>
+ * Each power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so any
+ * latency is reported to within about 6%, and the whole range of a long fits in
+ * under a thousand buckets. The buckets are primitive counters striped over several
+ * copies to reduce contention between writers, so recording is a single atomic
+ * increment (plus one for the running total) and never allocates.
+ * <p>
+ * Reading takes a {@link LatencySnapshot}, which is not an atomic view of
+ * concurrent recording, but includes every value recorded before it was taken.
+ */
+public final class LatencyRecorder {
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final int STRIDE = BUCKETS + 1;
+    private static final int TOTAL = BUCKETS;
+
+    private final NanoSource source;
+    private final int stripes;
+    private final AtomicLongArray cells;
+
+    public LatencyRecorder(NanoSource source) {
+        this(source, Math.min(Runtime.getRuntime().availableProcessors(), 16));
+    }
+
+    /**
+     * @param source time source for {@link #start()} and {@link #recordSince(long)}
+     * @param stripes number of copies of the counters to spread concurrent writers over
+     */
+    public LatencyRecorder(NanoSource source, int stripes) {
+        this.source = requireNonNull(source);
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be positive");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(Math.multiplyExact(stripes, STRIDE));
+    }
+
+    /**
+     * @return a timestamp to pass to {@link #recordSince(long)}
+     */
+    public long start() {
+        return source.nanoTime();
+    }
+
+    /**
+     * Record the time elapsed since a timestamp from {@link #start()}.
+     *
+     * @param startNanos timestamp taken when the timed operation started
+     * @return the latency recorded
+     */
+    public long recordSince(long startNanos) {
+        long latency = Math.max(source.nanoTime() - startNanos, 0);
+        record(latency);
+        return latency;
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("Latency must be non-negative");
+        }
+        int base = (int) (Thread.currentThread().getId() % stripes) * STRIDE;
+        cells.incrementAndGet(base + bucketOf(nanos));
+        cells.addAndGet(base + TOTAL, nanos);
+    }
+
+    public Stopwatch stopwatch() {
+        return new Stopwatch(source);
+    }
+
+    public LatencySnapshot snapshot() {
+        return collect(false);
+    }
+
+    /**
+     * Take a snapshot and reset the counters, so the next snapshot covers only later values.
+     *
+     * @return values recorded since the last reset
+     */
+    public LatencySnapshot snapshotAndReset() {
+        return collect(true);
+    }
+
+    private LatencySnapshot collect(boolean reset) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int base = stripe * STRIDE;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts[bucket] += reset ? cells.getAndSet(base + bucket, 0) : cells.get(base + bucket);
+            }
+            total += reset ? cells.getAndSet(base + TOTAL, 0) : cells.get(base + TOTAL);
+        }
+        return new LatencySnapshot(counts, total);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long lowestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        return (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+    }
+
+    static long highestValueIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        return lowestValueIn(bucket) + ((1L << shift) - 1);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyRecorder[" + snapshot() + "]";
+    }
+}
@@ -0,0 +1,95 @@
+package com.timgroup.clocks.timing.latency;
+
+import java.time.Duration;
+
+/**
+ * Latencies recorded by a {@link LatencyRecorder} up to some point.
+ */
+public final class LatencySnapshot {
+    private final long[] counts;
+    private final long totalNanos;
+    private final long count;
+
+    LatencySnapshot(long[] counts, long totalNanos) {
+        this.counts = counts;
+        this.totalNanos = totalNanos;
+        long sum = 0;
+        for (long bucketCount : counts) {
+            sum += bucketCount;
+        }
+        this.count = sum;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return exact mean latency, or zero if nothing was recorded
+     */
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * @return lower bound of the smallest latency recorded, or zero if nothing was recorded
+     */
+    public long minNanos() {
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] != 0) {
+                return LatencyRecorder.lowestValueIn(bucket);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return upper bound of the largest latency recorded, or zero if nothing was recorded
+     */
+    public long maxNanos() {
+        for (int bucket = counts.length - 1; bucket >= 0; bucket--) {
+            if (counts[bucket] != 0) {
+                return LatencyRecorder.highestValueIn(bucket);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Estimate a percentile of the recorded latencies.
+     *
+     * @param percentile percentile, from 0 to 100
+     * @return upper bound of the bucket containing the percentile, or zero if nothing was recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= target) {
+                return LatencyRecorder.highestValueIn(bucket);
+            }
+        }
+        return maxNanos();
+    }
+
+    public Duration durationAtPercentile(double percentile) {
+        return Duration.ofNanos(valueAtPercentile(percentile));
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + " mean=" + Math.round(meanNanos()) + "ns p50=" + valueAtPercentile(50)
+                + "ns p99=" + valueAtPercentile(99) + "ns max=" + maxNanos() + "ns";
+    }
+}
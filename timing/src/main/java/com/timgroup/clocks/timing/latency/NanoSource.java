@@ -0,0 +1,40 @@
+package com.timgroup.clocks.timing.latency;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Source of nanosecond timestamps, for measuring elapsed time.
+ * <p>
+ * Only differences between timestamps from the same source are meaningful.
+ */
+@FunctionalInterface
+public interface NanoSource {
+    long nanoTime();
+
+    /**
+     * @return source reading {@link System#nanoTime()}
+     */
+    static NanoSource system() {
+        return System::nanoTime;
+    }
+
+    /**
+     * Read timestamps from a clock, such as a manual clock in tests.
+     * <p>
+     * Timestamps are nanoseconds since the epoch, so only valid for instants in years 1677 to 2262.
+     * Reading does not allocate if the clock returns an existing instant, as manual clocks do.
+     *
+     * @param clock clock to read
+     * @return source reading the clock's instant
+     */
+    static NanoSource of(Clock clock) {
+        requireNonNull(clock);
+        return () -> {
+            Instant instant = clock.instant();
+            return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.timgroup.clocks.timing.latency;
+
+import java.time.Duration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Measures elapsed time from a nanosecond source, without allocating.
+ * <p>
+ * A stopwatch is mutable and not thread-safe, so is intended to be reused by a
+ * single thread, e.g. held in a field or thread-local.
+ */
+public final class Stopwatch {
+    private final NanoSource source;
+    private long startNanos;
+
+    public Stopwatch(NanoSource source) {
+        this.source = requireNonNull(source);
+        this.startNanos = source.nanoTime();
+    }
+
+    public static Stopwatch system() {
+        return new Stopwatch(NanoSource.system());
+    }
+
+    /**
+     * Restart timing from now.
+     *
+     * @return this stopwatch
+     */
+    public Stopwatch start() {
+        startNanos = source.nanoTime();
+        return this;
+    }
+
+    public long elapsedNanos() {
+        return source.nanoTime() - startNanos;
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(elapsedNanos());
+    }
+
+    /**
+     * Take the elapsed time and restart timing from now, so consecutive laps cover all the time passed.
+     *
+     * @return nanoseconds elapsed since the stopwatch was last started
+     */
+    public long lap() {
+        long now = source.nanoTime();
+        long elapsed = now - startNanos;
+        startNanos = now;
+        return elapsed;
+    }
+
+    /**
+     * Record the elapsed time and restart timing from now.
+     *
+     * @param recorder recorder to record the lap to
+     */
+    public void lapTo(LatencyRecorder recorder) {
+        recorder.record(Math.max(lap(), 0));
+    }
+
+    @Override
+    public String toString() {
+        return "Stopwatch[" + elapsed() + "]";
+    }
+}
@@ -0,0 +1,107 @@
+package com.timgroup.clocks.timing.ratelimit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Rate limiter that hands out permits which refill continuously at a fixed rate, up to some capacity.
+ * <p>
+ * The bucket starts full. Time is taken from the given clock's {@link Clock#millis()}, so
+ * refill happens at millisecond resolution, and can be driven by a manual clock in tests.
+ * <p>
+ * The whole state of the bucket is a single long (the time at which it would next be full,
+ * in the style of the generic cell rate algorithm), updated by compare-and-set, so acquiring
+ * permits never blocks or allocates.
+ */
+public final class TokenBucket {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final Clock clock;
+    private final long capacity;
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param clock time source
+     * @param capacity maximum number of permits that can be stored
+     * @param refillPermits number of permits added every refill period
+     * @param refillPeriod period over which refill permits are added
+     */
+    public TokenBucket(Clock clock, long capacity, long refillPermits, Duration refillPeriod) {
+        this.clock = requireNonNull(clock);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (refillPermits <= 0 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("Refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerPermit = refillPeriod.toNanos() / refillPermits;
+        if (nanosPerPermit == 0) {
+            throw new IllegalArgumentException("Refill rate must be at most one permit per nanosecond");
+        }
+        this.burstNanos = Math.multiplyExact(capacity, nanosPerPermit);
+        this.fullAt = new AtomicLong(nowNanos());
+    }
+
+    public static TokenBucket perSecond(Clock clock, long capacity, long permitsPerSecond) {
+        return new TokenBucket(clock, capacity, permitsPerSecond, Duration.ofSeconds(1));
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Take permits from the bucket if they are all available.
+     *
+     * @param permits number of permits to take
+     * @return true if the permits were taken, false if there were not enough available
+     */
+    public boolean tryAcquire(long permits) {
+        if (permits < 0) {
+            throw new IllegalArgumentException("Permits must be non-negative");
+        }
+        if (permits > capacity) {
+            return false;
+        }
+        long requiredNanos = permits * nanosPerPermit;
+        long now = nowNanos();
+        while (true) {
+            long current = fullAt.get();
+            long newFullAt = Math.max(current, now) + requiredNanos;
+            if (newFullAt - now > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, newFullAt)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the number of permits that could currently be acquired
+     */
+    public long availablePermits() {
+        long now = nowNanos();
+        long pendingNanos = Math.max(fullAt.get(), now) - now;
+        return (burstNanos - pendingNanos) / nanosPerPermit;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    private long nowNanos() {
+        return clock.millis() * NANOS_PER_MILLI;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenBucket[" + availablePermits() + "/" + capacity + " @ " + Duration.ofNanos(nanosPerPermit) + " per permit]";
+    }
+}
@@ -0,0 +1,247 @@
+package com.timgroup.clocks.timing.ticks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Publisher of the instants at which a clock passes every fixed period after the publisher was created.
+ * <p>
+ * Ticks fall at the instant this was created plus whole periods, and are only emitted
+ * when {@link #poll()} notices the clock has passed them: either periodically, by
+ * creating the publisher with {@link #scheduled}, or when a manual clock is moved, by
+ * registering {@code ticks::poll} as a listener on its {@code ControlledTime}. So a
+ * single timer can drive any number of subscribers.
+ * <p>
+ * Each tick is delivered to every subscriber that has outstanding demand. A subscriber
+ * that falls behind has missed ticks coalesced: it only receives the most recent ticks
+ * its demand allows, so a subscriber requesting one at a time always receives the latest
+ * tick. Subscribers are called on the thread that polls, so should hand off slow work.
+ * A subscriber that throws from a signal is cancelled, without affecting the others.
+ * <p>
+ * Polling and requesting never lock, and only allocate when emitting a new tick.
+ */
+public final class Ticks implements Publisher<Instant>, AutoCloseable {
+    private final Clock clock;
+    private final long originMillis;
+    private final long periodMillis;
+    private final AtomicLong latestTick = new AtomicLong();
+    private final List<TickSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile Tick lastTick;
+    private volatile boolean closed;
+    private volatile ScheduledFuture<?> schedule;
+
+    /**
+     * Create a publisher that only emits ticks when polled.
+     *
+     * @param clock time source
+     * @param period interval between ticks, at least a millisecond
+     */
+    public Ticks(Clock clock, Duration period) {
+        this.clock = requireNonNull(clock);
+        this.periodMillis = period.toMillis();
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Period must be at least one millisecond");
+        }
+        this.originMillis = clock.millis();
+        this.lastTick = new Tick(0, Instant.ofEpochMilli(originMillis));
+    }
+
+    /**
+     * Create a publisher that polls the clock every period on the given executor.
+     *
+     * @param clock time source
+     * @param period interval between ticks, at least a millisecond
+     * @param executor executor to poll on
+     * @return a new publisher, which stops polling when closed
+     */
+    public static Ticks scheduled(Clock clock, Duration period, ScheduledExecutorService executor) {
+        Ticks ticks = new Ticks(clock, period);
+        ticks.schedule = executor.scheduleAtFixedRate(ticks::poll, ticks.periodMillis, ticks.periodMillis, TimeUnit.MILLISECONDS);
+        return ticks;
+    }
+
+    /**
+     * Emit any ticks that the clock has passed since the last poll.
+     */
+    public void poll() {
+        long tick = Math.floorDiv(clock.millis() - originMillis, periodMillis);
+        while (true) {
+            long latest = latestTick.get();
+            if (tick <= latest) {
+                return;
+            }
+            if (latestTick.compareAndSet(latest, tick)) {
+                break;
+            }
+        }
+        for (TickSubscription subscription : subscriptions) {
+            subscription.drain();
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Instant> subscriber) {
+        requireNonNull(subscriber);
+        TickSubscription subscription = new TickSubscription(subscriber, latestTick.get());
+        subscriptions.add(subscription);
+        try {
+            subscriber.onSubscribe(subscription);
+        } catch (Throwable t) {
+            subscription.cancel();
+            return;
+        }
+        if (closed) {
+            subscription.complete();
+        }
+    }
+
+    public Duration getPeriod() {
+        return Duration.ofMillis(periodMillis);
+    }
+
+    /**
+     * Stop polling, and complete all subscribers.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        ScheduledFuture<?> scheduled = schedule;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        for (TickSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    private Instant instantOf(long tick) {
+        Tick last = lastTick;
+        if (last.tick != tick) {
+            lastTick = last = new Tick(tick, Instant.ofEpochMilli(originMillis + tick * periodMillis));
+        }
+        return last.instant;
+    }
+
+    @Override
+    public String toString() {
+        return "Ticks[" + getPeriod() + " from " + Instant.ofEpochMilli(originMillis) + " on " + clock + "]";
+    }
+
+    private static final class Tick {
+        final long tick;
+        final Instant instant;
+
+        Tick(long tick, Instant instant) {
+            this.tick = tick;
+            this.instant = instant;
+        }
+    }
+
+    private final class TickSubscription implements Subscription {
+        private final Subscriber<? super Instant> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean completing;
+        private volatile Throwable error;
+        private long delivered;
+
+        TickSubscription(Subscriber<? super Instant> subscriber, long delivered) {
+            this.subscriber = subscriber;
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Must request a positive number of ticks, not " + n);
+                drain();
+                return;
+            }
+            while (true) {
+                long current = requested.get();
+                long updated = current + n;
+                if (updated < 0) {
+                    updated = Long.MAX_VALUE;
+                }
+                if (requested.compareAndSet(current, updated)) {
+                    break;
+                }
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        void complete() {
+            completing = true;
+            drain();
+        }
+
+        // only one thread at a time gets past the work-in-progress counter, so signals are never concurrent
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                emit();
+            } catch (Throwable t) {
+                // a subscriber throwing from a signal has failed, so is cancelled (Reactive Streams rule 2.13)
+                cancel();
+                wip.set(0);
+            }
+        }
+
+        private void emit() {
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    return;
+                }
+                Throwable failure = error;
+                if (failure != null) {
+                    cancel();
+                    subscriber.onError(failure);
+                    return;
+                }
+                if (completing) {
+                    cancel();
+                    subscriber.onComplete();
+                    return;
+                }
+                long target = latestTick.get();
+                long outstanding = target - delivered;
+                long demand = requested.get();
+                if (outstanding > 0 && demand > 0) {
+                    long emitting = Math.min(demand, outstanding);
+                    for (long tick = target - emitting + 1; tick <= target && !cancelled; tick++) {
+                        subscriber.onNext(instantOf(tick));
+                    }
+                    delivered = target;
+                    if (demand != Long.MAX_VALUE) {
+                        requested.addAndGet(-emitting);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
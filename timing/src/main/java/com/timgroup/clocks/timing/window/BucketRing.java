@@ -0,0 +1,156 @@
+package com.timgroup.clocks.timing.window;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Ring of time buckets, each holding a fixed number of counters, read through a
+ * running total so that queries don't visit every bucket.
+ * <p>
+ * Each counter is kept as a cumulative count since creation, striped over several
+ * copies to reduce contention between writers. The first thread to see time move
+ * into a new bucket records the cumulative counts at the start of that bucket in
+ * the ring; the total over the window is then the cumulative count less the one
+ * recorded at the start of its oldest bucket. So queries take time proportional to
+ * the number of stripes, independent of the number of buckets or events.
+ * <p>
+ * Recording a bucket's start takes a lock, but only once per bucket. An update that
+ * races with it may be counted in the new bucket rather than the one whose time it
+ * read. Slots are tagged with the full bucket index, so a bucket left untouched for
+ * any length of time is never mistaken for a current one. If the clock goes back,
+ * the window stays where it was until the clock catches up.
+ * <p>
+ * Cumulative counts are only ever subtracted from each other, so they may overflow
+ * without affecting totals over the window, as long as those stay below 2<sup>63</sup>.
+ */
+final class BucketRing {
+    private static final long NO_BUCKET = Long.MIN_VALUE;
+
+    private final Clock clock;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final int width;
+    private final int stripes;
+    private final long firstBucket;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray starts;
+    private volatile long latestBucket;
+
+    BucketRing(Clock clock, Duration bucketDuration, int bucketCount, int width, int stripes) {
+        this.clock = requireNonNull(clock);
+        this.bucketMillis = bucketDuration.toMillis();
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException("Bucket duration must be at least one millisecond");
+        }
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket count must be positive");
+        }
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be positive");
+        }
+        this.bucketCount = bucketCount;
+        this.width = width;
+        this.stripes = stripes;
+        this.counts = new AtomicLongArray(Math.multiplyExact(stripes, width));
+        this.starts = new AtomicLongArray(Math.multiplyExact(bucketCount, width + 1));
+        for (int slot = 0; slot < bucketCount; slot++) {
+            starts.set(slot * (width + 1), NO_BUCKET);
+        }
+        this.firstBucket = Math.floorDiv(clock.millis(), bucketMillis);
+        this.latestBucket = firstBucket;
+    }
+
+    static int defaultStripes() {
+        return Math.min(Runtime.getRuntime().availableProcessors(), 16);
+    }
+
+    /**
+     * @return bucket ending the current window, after recording the start of any buckets
+     *          the clock has moved into
+     */
+    long currentBucket() {
+        long bucket = Math.floorDiv(clock.millis(), bucketMillis);
+        long latest = latestBucket;
+        return bucket > latest ? rotateTo(bucket) : latest;
+    }
+
+    private synchronized long rotateTo(long bucket) {
+        long latest = latestBucket;
+        if (bucket <= latest) {
+            return latest;
+        }
+        // every update since the last rotation fell in the latest bucket, so all buckets after it start at the current counts
+        long first = Math.max(latest + 1, bucket - bucketCount + 1);
+        for (long start = first; start <= bucket; start++) {
+            starts.set(slotOf(start), NO_BUCKET);
+        }
+        for (int column = 0; column < width; column++) {
+            long cumulative = cumulative(column);
+            for (long start = first; start <= bucket; start++) {
+                starts.set(slotOf(start) + 1 + column, cumulative);
+            }
+        }
+        for (long start = first; start <= bucket; start++) {
+            starts.set(slotOf(start), start);
+        }
+        latestBucket = bucket;
+        return bucket;
+    }
+
+    private int slotOf(long bucket) {
+        return (int) Math.floorMod(bucket, (long) bucketCount) * (width + 1);
+    }
+
+    Duration windowDuration() {
+        return Duration.ofMillis(bucketMillis * bucketCount);
+    }
+
+    void add(int column, long delta) {
+        if (delta < 0) {
+            throw new IllegalArgumentException("Delta must not be negative: " + delta);
+        }
+        currentBucket();
+        int stripe = (int) (Thread.currentThread().getId() % stripes);
+        counts.getAndAdd(stripe * width + column, delta);
+    }
+
+    private long cumulative(int column) {
+        long total = 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            total += counts.get(stripe * width + column);
+        }
+        return total;
+    }
+
+    long sum(int column) {
+        while (true) {
+            long total = sum(column, currentBucket());
+            if (total >= 0) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * @param column column to sum
+     * @param currentBucket bucket ending the window, from {@link #currentBucket()}; for a given
+     *          bucket, sums only ever grow
+     * @return total of the column over the window, or -1 if the ring has since moved on so far
+     *          that the window's start is no longer recorded
+     */
+    long sum(int column, long currentBucket) {
+        long windowStart = currentBucket - bucketCount + 1;
+        if (windowStart <= firstBucket) {
+            return cumulative(column);
+        }
+        int slot = slotOf(windowStart);
+        long start = starts.get(slot + 1 + column);
+        if (starts.get(slot) != windowStart) {
+            return -1;
+        }
+        return cumulative(column) - start;
+    }
+}
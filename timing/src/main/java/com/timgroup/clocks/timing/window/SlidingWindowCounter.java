@@ -0,0 +1,73 @@
+package com.timgroup.clocks.timing.window;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Counter of events over a sliding window of time.
+ * <p>
+ * The window is divided into a fixed number of buckets, and slides forward one
+ * bucket at a time: the count includes the current bucket and the preceding
+ * ones, up to the window size. Time is taken from the given clock, so rollover
+ * can be driven exactly in tests with a manual clock.
+ * <p>
+ * Updates are spread over several stripes to reduce contention between writer
+ * threads, and are lock-free apart from the first to see each new bucket, which
+ * briefly takes a lock to record where it starts. Queries read a running total,
+ * so their cost grows with the stripe count, but not with the bucket count or the
+ * number of events. Neither updates nor queries allocate.
+ */
+public final class SlidingWindowCounter {
+    private final BucketRing ring;
+
+    public SlidingWindowCounter(Clock clock, Duration bucketDuration, int bucketCount) {
+        this(clock, bucketDuration, bucketCount, BucketRing.defaultStripes());
+    }
+
+    public SlidingWindowCounter(Clock clock, Duration bucketDuration, int bucketCount, int stripes) {
+        this.ring = new BucketRing(clock, bucketDuration, bucketCount, 1, stripes);
+    }
+
+    /**
+     * @param clock time source
+     * @return a counter over the last 60 seconds, in one-second buckets
+     */
+    public static SlidingWindowCounter lastMinute(Clock clock) {
+        return new SlidingWindowCounter(clock, Duration.ofSeconds(1), 60);
+    }
+
+    public void increment() {
+        ring.add(0, 1);
+    }
+
+    /**
+     * @param delta amount to add
+     * @throws IllegalArgumentException if the delta is negative
+     */
+    public void add(long delta) {
+        ring.add(0, delta);
+    }
+
+    /**
+     * @return total of all values added within the current window
+     */
+    public long sum() {
+        return ring.sum(0);
+    }
+
+    /**
+     * @return average rate of values added per second over the current window
+     */
+    public double ratePerSecond() {
+        return sum() * 1000.0 / ring.windowDuration().toMillis();
+    }
+
+    public Duration getWindowDuration() {
+        return ring.windowDuration();
+    }
+
+    @Override
+    public String toString() {
+        return "SlidingWindowCounter[" + sum() + " in " + getWindowDuration() + "]";
+    }
+}
@@ -0,0 +1,127 @@
+package com.timgroup.clocks.timing.window;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Histogram of values recorded over a sliding window of time.
+ * <p>
+ * Values are counted into bins with fixed, sorted, inclusive upper bounds; values
+ * above the last bound go into an overflow bin. The window slides in the same way
+ * as {@link SlidingWindowCounter}, and updates are likewise lock-free, striped and
+ * allocation-free. Queries don't allocate either, and cost time proportional to
+ * bins &times; stripes, independent of the bucket count.
+ */
+public final class SlidingWindowHistogram {
+    private final long[] upperBounds;
+    private final BucketRing ring;
+
+    public SlidingWindowHistogram(Clock clock, Duration bucketDuration, int bucketCount, long[] upperBounds) {
+        this(clock, bucketDuration, bucketCount, upperBounds, BucketRing.defaultStripes());
+    }
+
+    public SlidingWindowHistogram(Clock clock, Duration bucketDuration, int bucketCount, long[] upperBounds, int stripes) {
+        if (upperBounds.length == 0) {
+            throw new IllegalArgumentException("At least one bin bound must be given");
+        }
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Bin bounds must be strictly increasing");
+            }
+        }
+        this.upperBounds = upperBounds.clone();
+        this.ring = new BucketRing(clock, bucketDuration, bucketCount, upperBounds.length + 1, stripes);
+    }
+
+    public void record(long value) {
+        ring.add(binFor(value), 1);
+    }
+
+    private int binFor(long value) {
+        int index = Arrays.binarySearch(upperBounds, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * @return number of values recorded within the current window
+     */
+    public long count() {
+        while (true) {
+            long total = total(ring.currentBucket());
+            if (total >= 0) {
+                return total;
+            }
+        }
+    }
+
+    private long total(long bucket) {
+        long total = 0;
+        for (int bin = 0; bin <= upperBounds.length; bin++) {
+            long count = ring.sum(bin, bucket);
+            if (count < 0) {
+                return -1;
+            }
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @param bin index of bin, where {@code upperBounds.length} is the overflow bin
+     * @return number of values recorded in the bin within the current window
+     */
+    public long countInBin(int bin) {
+        if (bin < 0 || bin > upperBounds.length) {
+            throw new IndexOutOfBoundsException("No such bin: " + bin);
+        }
+        return ring.sum(bin);
+    }
+
+    /**
+     * Estimate a percentile of the values recorded in the current window.
+     *
+     * @param percentile percentile, from 0 to 100
+     * @return upper bound of the bin containing the percentile, {@link Long#MAX_VALUE} if that
+     *          is the overflow bin, or zero if nothing has been recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        retry:
+        while (true) {
+            long bucket = ring.currentBucket();
+            long total = total(bucket);
+            if (total < 0) {
+                continue;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+            long seen = 0;
+            // sums for the same bucket only grow, so the target is still reached despite concurrent updates
+            for (int bin = 0; bin < upperBounds.length; bin++) {
+                long count = ring.sum(bin, bucket);
+                if (count < 0) {
+                    continue retry;
+                }
+                seen += count;
+                if (seen >= target) {
+                    return upperBounds[bin];
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+
+    public Duration getWindowDuration() {
+        return ring.windowDuration();
+    }
+
+    @Override
+    public String toString() {
+        return "SlidingWindowHistogram[" + count() + " in " + getWindowDuration() + "]";
+    }
+}
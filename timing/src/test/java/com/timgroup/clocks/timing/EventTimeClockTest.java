@@ -0,0 +1,102 @@
+package com.timgroup.clocks.timing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class EventTimeClockTest {
+    private static final Instant START = Instant.parse("2016-08-26T18:30:00Z");
+
+    @Test
+    public void advances_to_latest_event_time() throws Exception {
+        EventTimeClock clock = new EventTimeClock(START, UTC);
+        assertThat(clock.instant(), equalTo(START));
+        clock.observe(START.plusSeconds(5));
+        clock.observe(START.plusSeconds(3));
+        assertThat(clock.instant(), equalTo(START.plusSeconds(5)));
+        assertThat(clock.millis(), equalTo(START.plusSeconds(5).toEpochMilli()));
+    }
+
+    @Test
+    public void counts_events_before_watermark_as_late() throws Exception {
+        EventTimeClock clock = new EventTimeClock(START, UTC, Duration.ofSeconds(2), Duration.ofSeconds(1));
+        clock.observe(START.plusSeconds(10));
+        assertThat(clock.getWatermark(), equalTo(START.plusSeconds(8)));
+        assertThat(clock.observe(START.plusSeconds(8)), equalTo(true));
+        assertThat(clock.observe(START.plusMillis(7999)), equalTo(false));
+        assertThat(clock.getLateCount(), equalTo(1L));
+    }
+
+    @Test
+    public void notifies_listeners_when_watermark_crosses_boundary() throws Exception {
+        EventTimeClock clock = new EventTimeClock(START, UTC, Duration.ofSeconds(2), Duration.ofSeconds(10));
+        List<Instant> boundaries = new ArrayList<>();
+        clock.addListener(boundaries::add);
+        clock.observe(START.plusSeconds(1));
+        assertThat(boundaries, empty());
+        clock.observe(START.plusSeconds(2));
+        assertThat(boundaries, contains(START));
+        clock.observe(START.plusSeconds(11));
+        assertThat(boundaries, contains(START));
+        clock.observe(START.plusSeconds(12));
+        assertThat(boundaries, contains(START, START.plusSeconds(10)));
+        clock.observe(START.plusSeconds(55));
+        assertThat(boundaries, contains(START, START.plusSeconds(10), START.plusSeconds(50)));
+    }
+
+    @Test
+    public void derived_clocks_share_time() throws Exception {
+        EventTimeClock clock = new EventTimeClock(START, UTC);
+        Clock tokyo = clock.withZone(ZoneId.of("Asia/Tokyo"));
+        clock.observe(START.plusSeconds(1));
+        assertThat(tokyo.instant(), equalTo(START.plusSeconds(1)));
+        assertThat(clock.withZone(UTC), equalTo(clock));
+    }
+
+    @Test
+    public void takes_maximum_of_events_from_concurrent_threads() throws Exception {
+        EventTimeClock clock = new EventTimeClock(START, UTC, Duration.ZERO, Duration.ofSeconds(1));
+        List<Instant> boundaries = Collections.synchronizedList(new ArrayList<>());
+        clock.addListener(boundaries::add);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                int offset = i;
+                tasks.add(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        clock.observe(START.toEpochMilli() + j * 4L + offset);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(clock.instant(), equalTo(START.plusMillis(39_999)));
+        assertThat(boundaries.get(boundaries.size() - 1), equalTo(START.plusSeconds(39)));
+        for (int i = 1; i < boundaries.size(); i++) {
+            assertThat(boundaries.get(i - 1), lessThanOrEqualTo(boundaries.get(i)));
+        }
+    }
+}
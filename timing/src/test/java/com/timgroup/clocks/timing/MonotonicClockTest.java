@@ -0,0 +1,49 @@
+package com.timgroup.clocks.timing;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import com.timgroup.clocks.testing.SupplierClock;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class MonotonicClockTest {
+    private Instant now = Instant.parse("2016-08-26T18:30:00Z");
+    private final Clock underlying = SupplierClock.utc(() -> now);
+
+    @Test
+    public void follows_underlying_clock_forwards() throws Exception {
+        MonotonicClock clock = new MonotonicClock(underlying);
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:30:00Z")));
+        now = Instant.parse("2016-08-26T18:30:01Z");
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:30:01Z")));
+        assertThat(clock.getClampCount(), equalTo(0L));
+    }
+
+    @Test
+    public void stands_still_while_underlying_clock_is_behind() throws Exception {
+        MonotonicClock clock = new MonotonicClock(underlying);
+        clock.millis();
+        now = Instant.parse("2016-08-26T18:29:00Z");
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:30:00Z")));
+        now = Instant.parse("2016-08-26T18:29:59Z");
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:30:00Z")));
+        now = Instant.parse("2016-08-26T18:30:00.001Z");
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-08-26T18:30:00.001Z")));
+        assertThat(clock.getClampCount(), equalTo(2L));
+    }
+
+    @Test
+    public void zone_overridden_clock_shares_state() throws Exception {
+        MonotonicClock clock = new MonotonicClock(underlying);
+        Clock overridden = clock.withZone(ZoneId.of("America/Los_Angeles"));
+        clock.millis();
+        now = Instant.parse("2016-08-26T18:29:00Z");
+        assertThat(overridden.instant(), equalTo(Instant.parse("2016-08-26T18:30:00Z")));
+        assertThat(overridden.getZone(), equalTo(ZoneId.of("America/Los_Angeles")));
+        assertThat(clock.getClampCount(), equalTo(1L));
+    }
+}
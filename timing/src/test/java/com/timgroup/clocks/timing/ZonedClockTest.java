@@ -0,0 +1,90 @@
+package com.timgroup.clocks.timing;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import com.timgroup.clocks.testing.LatchableClock;
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ZonedClockTest {
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+    @Test
+    public void provides_local_values_in_clock_zone() throws Exception {
+        ZonedClock clock = new ZonedClock(Clock.fixed(Instant.parse("2016-06-10T10:11:12.345Z"), ZoneId.of("Pacific/Midway")));
+        assertThat(clock.today(), equalTo(LocalDate.parse("2016-06-09")));
+        assertThat(clock.currentEpochDay(), equalTo(LocalDate.parse("2016-06-09").toEpochDay()));
+        assertThat(clock.nowLocal(), equalTo(LocalDateTime.parse("2016-06-09T23:11:12.345")));
+        assertThat(clock.nowZoned(), equalTo(ZonedDateTime.parse("2016-06-09T23:11:12.345-11:00[Pacific/Midway]")));
+        assertThat(clock.currentOffset(), equalTo(ZoneOffset.ofHours(-11)));
+        assertThat(clock.instant(), equalTo(Instant.parse("2016-06-10T10:11:12.345Z")));
+    }
+
+    @Test
+    public void matches_java_time_across_daylight_saving_changes() throws Exception {
+        ManualClock manualClock = new ManualClock(Instant.parse("2016-03-26T22:00:00Z"), LONDON);
+        ZonedClock clock = new ZonedClock(manualClock);
+        for (int i = 0; i < 2 * 24 * 60; i++) {
+            assertThat(clock.nowLocal(), equalTo(LocalDateTime.now(manualClock)));
+            assertThat(clock.today(), equalTo(LocalDate.now(manualClock)));
+            assertThat(clock.nowZoned(), equalTo(ZonedDateTime.now(manualClock)));
+            manualClock.bump(Duration.ofSeconds(59).plusMillis(997));
+        }
+        manualClock.advanceTo(Instant.parse("2016-10-29T22:00:00Z"));
+        for (int i = 0; i < 2 * 24 * 60; i++) {
+            assertThat(clock.nowZoned(), equalTo(ZonedDateTime.now(manualClock)));
+            assertThat(clock.today(), equalTo(LocalDate.now(manualClock)));
+            manualClock.bump(Duration.ofSeconds(60).plusMillis(3));
+        }
+    }
+
+    @Test
+    public void changes_offset_exactly_at_transition() throws Exception {
+        ManualClock manualClock = new ManualClock(Instant.parse("2016-03-27T00:59:59.999Z"), LONDON);
+        ZonedClock clock = new ZonedClock(manualClock);
+        assertThat(clock.currentOffset(), equalTo(ZoneOffset.UTC));
+        manualClock.bumpMillis(1);
+        assertThat(clock.currentOffset(), equalTo(ZoneOffset.ofHours(1)));
+        assertThat(clock.nowLocal(), equalTo(LocalDateTime.parse("2016-03-27T02:00:00")));
+    }
+
+    @Test
+    public void follows_clock_moving_backwards() throws Exception {
+        ManualClock manualClock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), LONDON);
+        LatchableClock latchableClock = new LatchableClock(manualClock, Instant.parse("2016-08-26T18:30:00Z"), false);
+        ZonedClock clock = new ZonedClock(latchableClock);
+        assertThat(clock.today(), equalTo(LocalDate.parse("2016-08-26")));
+        latchableClock.latchTo(Instant.parse("2016-01-01T12:00:00Z"));
+        assertThat(clock.today(), equalTo(LocalDate.parse("2016-01-01")));
+        assertThat(clock.currentOffset(), equalTo(ZoneOffset.UTC));
+    }
+
+    @Test
+    public void reuses_values_while_time_unchanged() throws Exception {
+        ManualClock manualClock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), LONDON);
+        ZonedClock clock = new ZonedClock(manualClock);
+        assertThat(clock.nowZoned(), sameInstance(clock.nowZoned()));
+        LocalDate today = clock.today();
+        manualClock.bumpSeconds(3600);
+        assertThat(clock.today(), sameInstance(today));
+    }
+
+    @Test
+    public void derives_clock_in_other_zone() throws Exception {
+        ZonedClock clock = new ZonedClock(Clock.fixed(Instant.parse("2016-06-10T10:11:12Z"), ZoneOffset.UTC));
+        assertThat(clock.withZone(ZoneOffset.UTC), sameInstance(clock));
+        assertThat(clock.withZone(ZoneId.of("Asia/Tokyo")).nowLocal(), equalTo(LocalDateTime.parse("2016-06-10T19:11:12")));
+        assertThat(ZonedClock.of(clock), sameInstance(clock));
+    }
+}
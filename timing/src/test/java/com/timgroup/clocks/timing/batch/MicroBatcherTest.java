@@ -0,0 +1,202 @@
+package com.timgroup.clocks.timing.batch;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class MicroBatcherTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final MicroBatcher<String> batcher = new MicroBatcher<>(clock, 3, Duration.ofMillis(100), batch -> batches.add(new ArrayList<>(batch)));
+
+    @Test
+    public void flushes_exactly_when_oldest_item_reaches_deadline() throws Exception {
+        batcher.offer("a");
+        clock.bumpMillis(50);
+        batcher.offer("b");
+        clock.bumpMillis(49);
+        assertThat(batcher.flushIfDue(), equalTo(0));
+        assertThat(batcher.untilDue(), equalTo(Duration.ofMillis(1)));
+        clock.bumpMillis(1);
+        assertThat(batcher.flushIfDue(), equalTo(2));
+        assertThat(batches, contains(Arrays.asList("a", "b")));
+    }
+
+    @Test
+    public void flushes_when_batch_is_full() throws Exception {
+        batcher.offer("a");
+        batcher.offer("b");
+        assertThat(batcher.flushIfDue(), equalTo(0));
+        batcher.offer("c");
+        batcher.offer("d");
+        assertThat(batcher.flushIfDue(), equalTo(3));
+        assertThat(batches, contains(Arrays.asList("a", "b", "c")));
+        assertThat(batcher.pending(), equalTo(1));
+    }
+
+    @Test
+    public void leftover_items_keep_deadline_of_their_batch() throws Exception {
+        batcher.offer("a");
+        batcher.offer("b");
+        batcher.offer("c");
+        batcher.offer("d");
+        batcher.flushIfDue();
+        clock.bumpMillis(100);
+        assertThat(batcher.flushIfDue(), equalTo(1));
+        assertThat(batches, contains(Arrays.asList("a", "b", "c"), Arrays.asList("d")));
+    }
+
+    @Test
+    public void next_batch_deadline_starts_from_its_first_item() throws Exception {
+        batcher.offer("a");
+        clock.bumpMillis(100);
+        batcher.flushIfDue();
+        clock.bumpMillis(30);
+        batcher.offer("b");
+        clock.bumpMillis(99);
+        assertThat(batcher.flushIfDue(), equalTo(0));
+        clock.bumpMillis(1);
+        assertThat(batcher.flushIfDue(), equalTo(1));
+    }
+
+    @Test
+    public void has_no_deadline_when_empty() throws Exception {
+        assertThat(batcher.untilDue(), nullValue());
+        clock.bumpSeconds(60);
+        assertThat(batcher.flushIfDue(), equalTo(0));
+        assertThat(batches, empty());
+    }
+
+    @Test
+    public void flushes_everything_on_demand() throws Exception {
+        for (String item : Arrays.asList("a", "b", "c", "d", "e")) {
+            batcher.offer(item);
+        }
+        assertThat(batcher.flush(), equalTo(5));
+        assertThat(batches, contains(Arrays.asList("a", "b", "c"), Arrays.asList("d", "e")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void refuses_items_after_closing() throws Exception {
+        batcher.close();
+        batcher.offer("a");
+    }
+
+    @Test
+    public void consumer_thread_flushes_full_batches_and_remainder_on_close() throws Exception {
+        Thread consumer = new Thread(batcher);
+        consumer.start();
+        batcher.offer("a");
+        batcher.offer("b");
+        batcher.offer("c");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (batches.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        batcher.offer("d");
+        batcher.close();
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+        assertThat(batches, contains(Arrays.asList("a", "b", "c"), Arrays.asList("d")));
+    }
+
+    @Test
+    public void consumer_thread_flushes_once_manual_clock_passes_deadline() throws Exception {
+        Thread consumer = new Thread(batcher);
+        consumer.start();
+        try {
+            batcher.offer("a");
+            Thread.sleep(20);
+            assertThat(batches, empty());
+            clock.bumpMillis(100);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (batches.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(batches, contains(Arrays.asList("a")));
+        } finally {
+            batcher.close();
+            consumer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @Test
+    public void passes_batch_the_flusher_threw_on_to_failure_handler_and_carries_on() throws Exception {
+        RuntimeException failure = new IllegalStateException("flush failed");
+        List<List<String>> failed = new ArrayList<>();
+        List<RuntimeException> failures = new ArrayList<>();
+        MicroBatcher<String> failing = new MicroBatcher<>(clock, 2, Duration.ofMillis(100), batch -> {
+            if (batch.contains("a")) {
+                throw failure;
+            }
+            batches.add(new ArrayList<>(batch));
+        }, (batch, e) -> {
+            failed.add(new ArrayList<>(batch));
+            failures.add(e);
+        });
+        failing.offer("a");
+        failing.offer("b");
+        failing.offer("c");
+        assertThat(failing.flushIfDue(), equalTo(2));
+        assertThat(failed, contains(Arrays.asList("a", "b")));
+        assertThat(failures.get(0), sameInstance(failure));
+        assertThat(failing.flush(), equalTo(1));
+        assertThat(batches, contains(Arrays.asList("c")));
+    }
+
+    @Test
+    public void consumer_thread_survives_flusher_throwing() throws Exception {
+        List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+        MicroBatcher<String> failing = new MicroBatcher<>(clock, 1, Duration.ofMillis(100), batch -> {
+            if (batch.contains("a")) {
+                throw new IllegalStateException("flush failed");
+            }
+            batches.add(new ArrayList<>(batch));
+        }, (batch, e) -> failures.add(e));
+        Thread consumer = new Thread(failing);
+        consumer.start();
+        try {
+            failing.offer("a");
+            failing.offer("b");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (batches.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(batches, contains(Arrays.asList("b")));
+            assertThat(failures.size(), equalTo(1));
+        } finally {
+            failing.close();
+            consumer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    @Test
+    public void reports_flusher_failure_to_uncaught_exception_handler_by_default() throws Exception {
+        RuntimeException failure = new IllegalStateException("flush failed");
+        List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+        MicroBatcher<String> failing = new MicroBatcher<>(clock, 1, Duration.ofMillis(100), batch -> {
+            throw failure;
+        });
+        Thread consumer = new Thread(failing::flushIfDue);
+        consumer.setUncaughtExceptionHandler((thread, e) -> uncaught.add(e));
+        failing.offer("a");
+        consumer.start();
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+        assertThat(uncaught, contains(failure));
+        assertThat(failing.pending(), equalTo(0));
+    }
+}
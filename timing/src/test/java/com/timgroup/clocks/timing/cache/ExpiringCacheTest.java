@@ -0,0 +1,113 @@
+package com.timgroup.clocks.timing.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class ExpiringCacheTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+
+    @Test
+    public void returns_values_until_they_expire() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(clock, Duration.ofMinutes(1));
+        cache.put("a", "apple");
+        clock.advanceTo(Instant.parse("2016-08-26T18:30:59.999Z"));
+        assertThat(cache.get("a"), equalTo("apple"));
+        clock.advanceTo(Instant.parse("2016-08-26T18:31:00Z"));
+        assertThat(cache.get("a"), nullValue());
+        assertThat(cache.size(), equalTo(0));
+    }
+
+    @Test
+    public void rewriting_value_extends_its_life() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(clock, Duration.ofMinutes(1));
+        cache.put("a", "apple");
+        clock.bumpSeconds(30);
+        cache.put("a", "avocado");
+        clock.bumpSeconds(45);
+        cache.cleanUp();
+        assertThat(cache.get("a"), equalTo("avocado"));
+        clock.bumpSeconds(15);
+        assertThat(cache.get("a"), nullValue());
+    }
+
+    @Test
+    public void removes_expired_entries_in_bulk() throws Exception {
+        ExpiringCache<Integer, String> cache = new ExpiringCache<>(clock, Duration.ofMinutes(1));
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "value" + i);
+        }
+        clock.bumpSeconds(30);
+        cache.put(100, "value100");
+        assertThat(cache.size(), equalTo(101));
+        clock.advanceTo(Instant.parse("2016-08-26T18:31:00Z"));
+        cache.cleanUp();
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.get(100), equalTo("value100"));
+    }
+
+    @Test
+    public void evicts_oldest_entries_beyond_maximum_size() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(clock, Duration.ofMinutes(1), 2);
+        cache.put("a", "apple");
+        clock.bumpMillis(1);
+        cache.put("b", "banana");
+        clock.bumpMillis(1);
+        cache.put("c", "cherry");
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get("a"), nullValue());
+        assertThat(cache.get("b"), equalTo("banana"));
+        assertThat(cache.get("c"), equalTo("cherry"));
+    }
+
+    @Test
+    public void loads_missing_or_expired_values() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        ExpiringCache<String, String> cache = new ExpiringCache<>(clock, Duration.ofMinutes(1));
+        assertThat(cache.get("a", k -> k + loads.incrementAndGet()), equalTo("a1"));
+        assertThat(cache.get("a", k -> k + loads.incrementAndGet()), equalTo("a1"));
+        clock.bump(Duration.ofMinutes(1));
+        assertThat(cache.get("a", k -> k + loads.incrementAndGet()), equalTo("a2"));
+    }
+
+    @Test
+    public void removes_entries() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(clock, Duration.ofMinutes(1));
+        cache.put("a", "apple");
+        cache.remove("a");
+        assertThat(cache.get("a"), nullValue());
+    }
+
+    @Test
+    public void keeps_one_entry_per_key_in_order_of_expiry() throws Exception {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(clock, Duration.ofMinutes(1));
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("hot", i);
+            cache.get("warm", k -> 0);
+        }
+        cache.put("removed", 0);
+        cache.remove("removed");
+        assertThat(cache.linkedCount(), equalTo(2));
+        assertThat(cache.get("hot"), equalTo(9_999));
+    }
+
+    @Test
+    public void loading_replaces_expired_entry_in_order_of_expiry() throws Exception {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(clock, Duration.ofMinutes(1));
+        cache.put("a", "apple");
+        clock.bump(Duration.ofMinutes(1));
+        assertThat(cache.get("a", k -> "avocado"), equalTo("avocado"));
+        assertThat(cache.linkedCount(), equalTo(1));
+        clock.bumpSeconds(59);
+        cache.cleanUp();
+        assertThat(cache.get("a"), equalTo("avocado"));
+    }
+}
@@ -0,0 +1,184 @@
+package com.timgroup.clocks.timing.failure;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.timgroup.clocks.testing.LatchableClock;
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+public class PhiAccrualFailureDetectorTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+
+    @Test
+    public void suspicion_grows_with_time_since_last_heartbeat() throws Exception {
+        PhiAccrualFailureDetector<String> detector = PhiAccrualFailureDetector.withDefaults(clock);
+        regularHeartbeats(detector, clock, "peer", 10);
+        assertThat(detector.phi("peer"), closeTo(0.0, 0.001));
+        clock.bumpMillis(1000);
+        assertThat(detector.phi("peer"), closeTo(0.301, 0.001));
+        clock.bumpMillis(200);
+        assertThat(detector.phi("peer"), closeTo(1.643, 0.001));
+        assertThat(detector.isAvailable("peer"), equalTo(true));
+        clock.bumpMillis(800);
+        assertThat(detector.phi("peer"), greaterThan(8.0));
+        assertThat(detector.isAvailable("peer"), equalTo(false));
+    }
+
+    @Test
+    public void heartbeat_restores_availability() throws Exception {
+        PhiAccrualFailureDetector<String> detector = PhiAccrualFailureDetector.withDefaults(clock);
+        regularHeartbeats(detector, clock, "peer", 10);
+        clock.bumpSeconds(5);
+        assertThat(detector.isAvailable("peer"), equalTo(false));
+        detector.heartbeat("peer");
+        assertThat(detector.isAvailable("peer"), equalTo(true));
+    }
+
+    @Test
+    public void tolerates_more_variation_from_irregular_peers() throws Exception {
+        PhiAccrualFailureDetector<String> detector = PhiAccrualFailureDetector.withDefaults(clock);
+        detector.heartbeat("regular");
+        detector.heartbeat("irregular");
+        for (int i = 0; i < 20; i++) {
+            clock.bumpMillis(500);
+            detector.heartbeat("irregular");
+            clock.bumpMillis(500);
+            detector.heartbeat("regular");
+            clock.bumpMillis(1000);
+            detector.heartbeat("irregular");
+            detector.heartbeat("regular");
+        }
+        clock.bumpMillis(1400);
+        assertThat(detector.phi("irregular"), lessThan(detector.phi("regular")));
+    }
+
+    @Test
+    public void uses_first_heartbeat_estimate_until_intervals_observed() throws Exception {
+        PhiAccrualFailureDetector<String> detector = PhiAccrualFailureDetector.withDefaults(clock);
+        detector.heartbeat("peer");
+        clock.bumpMillis(1000);
+        assertThat(detector.phi("peer"), closeTo(0.301, 0.001));
+    }
+
+    @Test
+    public void acceptable_pause_delays_suspicion() throws Exception {
+        PhiAccrualFailureDetector<String> detector = new PhiAccrualFailureDetector<>(clock, 8.0, 100, Duration.ofMillis(100), Duration.ofSeconds(3), Duration.ofSeconds(1));
+        regularHeartbeats(detector, clock, "peer", 10);
+        clock.bumpSeconds(3);
+        assertThat(detector.isAvailable("peer"), equalTo(true));
+        clock.bumpSeconds(2);
+        assertThat(detector.isAvailable("peer"), equalTo(false));
+    }
+
+    @Test
+    public void untracked_peers_are_available() throws Exception {
+        PhiAccrualFailureDetector<String> detector = PhiAccrualFailureDetector.withDefaults(clock);
+        assertThat(detector.phi("unknown"), equalTo(0.0));
+        detector.heartbeat("peer");
+        detector.remove("peer");
+        clock.bumpSeconds(60);
+        assertThat(detector.isAvailable("peer"), equalTo(true));
+        assertThat(detector.getPeerCount(), equalTo(0));
+    }
+
+    @Test
+    public void constant_clock_skew_makes_no_difference() throws Exception {
+        Clock skewed = Clock.offset(clock, Duration.ofHours(-3));
+        PhiAccrualFailureDetector<String> detector = PhiAccrualFailureDetector.withDefaults(skewed);
+        regularHeartbeats(detector, clock, "peer", 10);
+        clock.bumpMillis(1200);
+        assertThat(detector.phi("peer"), closeTo(1.643, 0.001));
+    }
+
+    @Test
+    public void frozen_clock_hides_missing_heartbeats() throws Exception {
+        LatchableClock latchable = new LatchableClock(clock, clock.instant(), true);
+        PhiAccrualFailureDetector<String> detector = PhiAccrualFailureDetector.withDefaults(latchable);
+        regularHeartbeats(detector, clock, "peer", 10);
+        latchable.latch();
+        clock.bumpSeconds(10);
+        assertThat(detector.isAvailable("peer"), equalTo(true));
+        latchable.unlatch();
+        clock.bumpSeconds(2);
+        assertThat(detector.isAvailable("peer"), equalTo(false));
+    }
+
+    @Test
+    public void clock_going_backwards_counts_as_zero_interval() throws Exception {
+        LatchableClock latchable = new LatchableClock(clock, clock.instant(), false);
+        PhiAccrualFailureDetector<String> detector = PhiAccrualFailureDetector.withDefaults(latchable);
+        Instant start = latchable.instant();
+        for (int i = 0; i < 10; i++) {
+            detector.heartbeat("peer");
+            latchable.bump(Duration.ofSeconds(1));
+        }
+        latchable.latchTo(start);
+        detector.heartbeat("peer");
+        assertThat(detector.phi("peer"), closeTo(0.0, 0.001));
+        latchable.bump(Duration.ofSeconds(30));
+        assertThat(detector.isAvailable("peer"), equalTo(false));
+    }
+
+    @Test
+    public void tracks_many_peers_from_concurrent_threads() throws Exception {
+        PhiAccrualFailureDetector<Integer> detector = PhiAccrualFailureDetector.withDefaults(clock);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 5; round++) {
+                List<Callable<Void>> tasks = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    int thread = t;
+                    tasks.add(() -> {
+                        for (int peer = thread; peer < 2000; peer += 4) {
+                            detector.heartbeat(peer);
+                        }
+                        return null;
+                    });
+                }
+                for (Future<Void> result : executor.invokeAll(tasks)) {
+                    result.get();
+                }
+                clock.bumpMillis(1000);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(detector.getPeerCount(), equalTo(2000));
+        assertThat(detector.phi(1234), closeTo(0.301, 0.001));
+    }
+
+    @Test
+    public void keeps_sub_millisecond_minimum_standard_deviation_for_perfectly_regular_peer() throws Exception {
+        PhiAccrualFailureDetector<String> detector = new PhiAccrualFailureDetector<>(clock, 8.0, 200, Duration.ofNanos(500_000),
+                Duration.ZERO, Duration.ofSeconds(1));
+        regularHeartbeats(detector, clock, "peer", 10);
+        clock.bumpMillis(1000);
+        assertThat(detector.phi("peer"), closeTo(0.301, 0.001));
+        clock.bumpMillis(5);
+        assertThat(detector.phi("peer"), greaterThan(8.0));
+    }
+
+    private static void regularHeartbeats(PhiAccrualFailureDetector<String> detector, ManualClock clock, String peer, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                clock.bumpMillis(1000);
+            }
+            detector.heartbeat(peer);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.timgroup.clocks.timing.format;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class SecondCachingFormatterTest {
+    private static final DateTimeFormatter PATTERN = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private final AtomicInteger prints = new AtomicInteger();
+    private final SecondCachingFormatter<ZoneId> formatter = new SecondCachingFormatter<>((epochMillis, zone) -> {
+        prints.incrementAndGet();
+        return PATTERN.format(Instant.ofEpochMilli(epochMillis).atZone(zone));
+    });
+
+    @Test
+    public void only_prints_once_per_second_and_zone() throws Exception {
+        long start = Instant.parse("2016-08-26T18:30:00Z").toEpochMilli();
+        assertThat(formatter.format(start + 1, UTC), equalTo("18:30:00.001"));
+        int printsForSecond = prints.get();
+        assertThat(formatter.format(start + 999, UTC), equalTo("18:30:00.999"));
+        assertThat(prints.get(), equalTo(printsForSecond));
+        assertThat(formatter.format(start + 500, ZoneId.of("Europe/London")), equalTo("19:30:00.500"));
+        assertThat(formatter.format(start + 1000, ZoneId.of("Europe/London")), equalTo("19:30:01.000"));
+        assertThat(prints.get(), equalTo(printsForSecond * 3));
+    }
+
+    @Test
+    public void prints_in_full_when_millis_cannot_be_patched() throws Exception {
+        SecondCachingFormatter<ZoneId> tenths = new SecondCachingFormatter<>((epochMillis, zone) -> Long.toString(epochMillis / 100));
+        assertThat(tenths.format(1234, UTC), equalTo("12"));
+        assertThat(tenths.format(1987, UTC), equalTo("19"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.timgroup.clocks.timing.format;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class TimestampFormatterTest {
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm:ss.SSS",
+            "yyyyMMdd-HH:mm:ss.SSS",
+            "HH:mm:ss",
+            "ss.S",
+            "ss.SS",
+            "HH:mm:ss.SSSS xxx",
+    };
+
+    @Test
+    public void matches_full_formatting_for_every_millisecond() throws Exception {
+        ZoneId zone = ZoneId.of("Europe/London");
+        long start = Instant.parse("2016-08-26T18:30:00Z").toEpochMilli();
+        for (String pattern : PATTERNS) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            TimestampFormatter timestampFormatter = TimestampFormatter.of(formatter);
+            for (long millis = start; millis < start + 2500; millis++) {
+                String expected = formatter.format(Instant.ofEpochMilli(millis).atZone(zone));
+                assertThat(timestampFormatter.format(millis, zone), equalTo(expected));
+            }
+        }
+    }
+
+    @Test
+    public void falls_back_to_full_formatting_for_variable_length_fractions() throws Exception {
+        TimestampFormatter formatter = TimestampFormatter.of(DateTimeFormatter.ISO_LOCAL_TIME);
+        long millis = Instant.parse("2016-08-26T18:30:00Z").toEpochMilli();
+        assertThat(formatter.format(millis, UTC), equalTo("18:30:00"));
+        assertThat(formatter.format(millis + 120, UTC), equalTo("18:30:00.12"));
+    }
+
+    @Test
+    public void appends_formatted_clock_time() throws Exception {
+        ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00.007Z"), UTC);
+        TimestampFormatter formatter = TimestampFormatter.ofPattern("HH:mm:ss.SSS");
+        StringBuilder out = new StringBuilder("at ");
+        formatter.formatTo(clock, out);
+        clock.bumpMillis(50);
+        out.append(' ');
+        formatter.formatTo(clock, out);
+        assertThat(out.toString(), equalTo("at 18:30:00.007 18:30:00.057"));
+    }
+
+    @Test
+    public void writes_formatted_clock_time_as_bytes() throws Exception {
+        ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00.123Z"), UTC);
+        TimestampFormatter formatter = TimestampFormatter.ofPattern("HH:mm:ss.SSS");
+        byte[] buffer = new byte[16];
+        buffer[0] = '[';
+        int length = formatter.formatTo(clock, buffer, 1);
+        assertThat(new String(buffer, 0, length + 1, StandardCharsets.UTF_8), equalTo("[18:30:00.123"));
+    }
+
+    @Test
+    public void follows_zone_of_each_call() throws Exception {
+        TimestampFormatter formatter = TimestampFormatter.ofPattern("HH:mm:ss.SSS");
+        long millis = Instant.parse("2016-08-26T18:30:00.123Z").toEpochMilli();
+        assertThat(formatter.format(millis, UTC), equalTo("18:30:00.123"));
+        assertThat(formatter.format(millis, ZoneId.of("Asia/Tokyo")), equalTo("03:30:00.123"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void refuses_to_overflow_buffer() throws Exception {
+        TimestampFormatter.ofPattern("HH:mm:ss.SSS").formatTo(0L, UTC, new byte[8], 0);
+    }
+}
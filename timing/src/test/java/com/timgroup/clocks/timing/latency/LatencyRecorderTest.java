@@ -0,0 +1,115 @@
+package com.timgroup.clocks.timing.latency;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class LatencyRecorderTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+    private final LatencyRecorder recorder = new LatencyRecorder(NanoSource.of(clock), 4);
+
+    @Test
+    public void records_time_elapsed_according_to_source() throws Exception {
+        long start = recorder.start();
+        clock.bump(Duration.ofNanos(1500));
+        assertThat(recorder.recordSince(start), equalTo(1500L));
+        LatencySnapshot snapshot = recorder.snapshot();
+        assertThat(snapshot.count(), equalTo(1L));
+        assertThat(snapshot.totalNanos(), equalTo(1500L));
+    }
+
+    @Test
+    public void buckets_cover_every_value_with_bounded_error() throws Exception {
+        long[] values = { 0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE / 3, Long.MAX_VALUE };
+        for (long value : values) {
+            int bucket = LatencyRecorder.bucketOf(value);
+            assertThat(LatencyRecorder.lowestValueIn(bucket), lessThanOrEqualTo(value));
+            assertThat(LatencyRecorder.highestValueIn(bucket), greaterThanOrEqualTo(value));
+            assertThat((double) (LatencyRecorder.highestValueIn(bucket) - LatencyRecorder.lowestValueIn(bucket)), lessThanOrEqualTo(value / 16.0));
+        }
+        assertThat(LatencyRecorder.bucketOf(Long.MAX_VALUE), equalTo(LatencyRecorder.BUCKETS - 1));
+    }
+
+    @Test
+    public void adjacent_buckets_are_contiguous() throws Exception {
+        for (int bucket = 1; bucket < LatencyRecorder.BUCKETS; bucket++) {
+            assertThat(LatencyRecorder.lowestValueIn(bucket), equalTo(LatencyRecorder.highestValueIn(bucket - 1) + 1));
+        }
+    }
+
+    @Test
+    public void estimates_percentiles() throws Exception {
+        for (int i = 1; i <= 1000; i++) {
+            recorder.record(i * 1000L);
+        }
+        LatencySnapshot snapshot = recorder.snapshot();
+        assertThat((double) snapshot.valueAtPercentile(50), closeTo(500_000, 500_000 / 16.0));
+        assertThat((double) snapshot.valueAtPercentile(99), closeTo(990_000, 990_000 / 16.0));
+        assertThat((double) snapshot.maxNanos(), closeTo(1_000_000, 1_000_000 / 16.0));
+        assertThat((double) snapshot.minNanos(), closeTo(1000, 1000 / 16.0));
+        assertThat(snapshot.meanNanos(), equalTo(500_500.0));
+    }
+
+    @Test
+    public void empty_snapshot_reports_zeros() throws Exception {
+        LatencySnapshot snapshot = recorder.snapshot();
+        assertThat(snapshot.count(), equalTo(0L));
+        assertThat(snapshot.valueAtPercentile(99), equalTo(0L));
+        assertThat(snapshot.maxNanos(), equalTo(0L));
+        assertThat(snapshot.meanNanos(), equalTo(0.0));
+    }
+
+    @Test
+    public void resets_after_snapshot() throws Exception {
+        recorder.record(100);
+        assertThat(recorder.snapshotAndReset().count(), equalTo(1L));
+        recorder.record(200);
+        LatencySnapshot snapshot = recorder.snapshot();
+        assertThat(snapshot.count(), equalTo(1L));
+        assertThat(snapshot.totalNanos(), equalTo(200L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_negative_latency() throws Exception {
+        recorder.record(-1);
+    }
+
+    @Test
+    public void counts_every_value_from_concurrent_writers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                tasks.add(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        recorder.record(j);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        LatencySnapshot snapshot = recorder.snapshot();
+        assertThat(snapshot.count(), equalTo(40_000L));
+        assertThat(snapshot.totalNanos(), equalTo(4 * (9_999L * 10_000L / 2)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.timgroup.clocks.timing.latency;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class StopwatchTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+    private final Stopwatch stopwatch = new Stopwatch(NanoSource.of(clock));
+
+    @Test
+    public void measures_elapsed_time_from_creation() throws Exception {
+        clock.bumpMillis(5);
+        assertThat(stopwatch.elapsedNanos(), equalTo(5_000_000L));
+        assertThat(stopwatch.elapsed(), equalTo(Duration.ofMillis(5)));
+    }
+
+    @Test
+    public void restarts() throws Exception {
+        clock.bumpMillis(5);
+        stopwatch.start();
+        clock.bump(Duration.ofNanos(7));
+        assertThat(stopwatch.elapsedNanos(), equalTo(7L));
+    }
+
+    @Test
+    public void takes_consecutive_laps() throws Exception {
+        clock.bump(Duration.ofNanos(100));
+        assertThat(stopwatch.lap(), equalTo(100L));
+        clock.bump(Duration.ofNanos(250));
+        assertThat(stopwatch.lap(), equalTo(250L));
+    }
+
+    @Test
+    public void records_laps() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder(NanoSource.of(clock), 1);
+        Stopwatch recorderStopwatch = recorder.stopwatch();
+        clock.bump(Duration.ofNanos(10));
+        recorderStopwatch.lapTo(recorder);
+        clock.bump(Duration.ofNanos(12));
+        recorderStopwatch.lapTo(recorder);
+        assertThat(recorder.snapshot().count(), equalTo(2L));
+        assertThat(recorder.snapshot().totalNanos(), equalTo(22L));
+    }
+}
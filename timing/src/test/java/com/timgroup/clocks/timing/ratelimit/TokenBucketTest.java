@@ -0,0 +1,127 @@
+package com.timgroup.clocks.timing.ratelimit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class TokenBucketTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+
+    @Test
+    public void starts_full() throws Exception {
+        TokenBucket bucket = TokenBucket.perSecond(clock, 10, 5);
+        assertThat(bucket.availablePermits(), equalTo(10L));
+        assertThat(bucket.tryAcquire(10), equalTo(true));
+        assertThat(bucket.tryAcquire(), equalTo(false));
+        assertThat(bucket.availablePermits(), equalTo(0L));
+    }
+
+    @Test
+    public void refuses_to_acquire_more_than_available() throws Exception {
+        TokenBucket bucket = TokenBucket.perSecond(clock, 10, 5);
+        assertThat(bucket.tryAcquire(7), equalTo(true));
+        assertThat(bucket.tryAcquire(4), equalTo(false));
+        assertThat(bucket.tryAcquire(3), equalTo(true));
+    }
+
+    @Test
+    public void refuses_to_acquire_more_than_capacity() throws Exception {
+        TokenBucket bucket = TokenBucket.perSecond(clock, 10, 5);
+        assertThat(bucket.tryAcquire(11), equalTo(false));
+        assertThat(bucket.availablePermits(), equalTo(10L));
+    }
+
+    @Test
+    public void refills_as_clock_advances() throws Exception {
+        TokenBucket bucket = TokenBucket.perSecond(clock, 10, 5);
+        bucket.tryAcquire(10);
+        clock.bumpMillis(199);
+        assertThat(bucket.tryAcquire(), equalTo(false));
+        clock.bumpMillis(1);
+        assertThat(bucket.tryAcquire(), equalTo(true));
+        assertThat(bucket.tryAcquire(), equalTo(false));
+        clock.bumpSeconds(1);
+        assertThat(bucket.availablePermits(), equalTo(5L));
+    }
+
+    @Test
+    public void does_not_refill_beyond_capacity() throws Exception {
+        TokenBucket bucket = TokenBucket.perSecond(clock, 10, 5);
+        bucket.tryAcquire(3);
+        clock.bumpSeconds(60);
+        assertThat(bucket.availablePermits(), equalTo(10L));
+        assertThat(bucket.tryAcquire(10), equalTo(true));
+        assertThat(bucket.tryAcquire(), equalTo(false));
+    }
+
+    @Test
+    public void refills_at_arbitrary_rate() throws Exception {
+        TokenBucket bucket = new TokenBucket(clock, 3, 1, Duration.ofMinutes(1));
+        bucket.tryAcquire(3);
+        clock.bumpSeconds(59);
+        assertThat(bucket.availablePermits(), equalTo(0L));
+        clock.bumpSeconds(1);
+        assertThat(bucket.availablePermits(), equalTo(1L));
+    }
+
+    @Test
+    public void acquiring_zero_permits_always_succeeds() throws Exception {
+        TokenBucket bucket = TokenBucket.perSecond(clock, 1, 1);
+        bucket.tryAcquire();
+        assertThat(bucket.tryAcquire(0), equalTo(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_to_acquire_negative_permits() throws Exception {
+        TokenBucket.perSecond(clock, 1, 1).tryAcquire(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_zero_capacity() throws Exception {
+        TokenBucket.perSecond(clock, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_zero_rate() throws Exception {
+        TokenBucket.perSecond(clock, 1, 0);
+    }
+
+    @Test
+    public void hands_out_exactly_capacity_to_concurrent_callers() throws Exception {
+        TokenBucket bucket = TokenBucket.perSecond(clock, 10_000, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                tasks.add(() -> {
+                    int acquired = 0;
+                    for (int j = 0; j < 5_000; j++) {
+                        if (bucket.tryAcquire()) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                });
+            }
+            int total = 0;
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                total += result.get();
+            }
+            assertThat(total, equalTo(10_000));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
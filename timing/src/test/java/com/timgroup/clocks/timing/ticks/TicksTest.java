@@ -0,0 +1,203 @@
+package com.timgroup.clocks.timing.ticks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+public class TicksTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+    private final Ticks ticks = new Ticks(clock, Duration.ofSeconds(10));
+
+    {
+        clock.getTime().addListener(ticks::poll);
+    }
+
+    @Test
+    public void emits_tick_as_manual_clock_passes_each_boundary() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ticks.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        clock.bumpSeconds(9);
+        assertThat(subscriber.ticks, empty());
+        clock.bumpSeconds(1);
+        clock.advanceTo(Instant.parse("2016-08-26T18:30:35Z"));
+        assertThat(subscriber.ticks, contains(
+                Instant.parse("2016-08-26T18:30:10Z"),
+                Instant.parse("2016-08-26T18:30:20Z"),
+                Instant.parse("2016-08-26T18:30:30Z")));
+    }
+
+    @Test
+    public void coalesces_ticks_missed_without_demand() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ticks.subscribe(subscriber);
+        clock.bumpSeconds(45);
+        assertThat(subscriber.ticks, empty());
+        subscriber.request(1);
+        assertThat(subscriber.ticks, contains(Instant.parse("2016-08-26T18:30:40Z")));
+        clock.bumpSeconds(10);
+        assertThat(subscriber.ticks, contains(Instant.parse("2016-08-26T18:30:40Z")));
+        subscriber.request(2);
+        clock.bumpSeconds(10);
+        assertThat(subscriber.ticks, contains(
+                Instant.parse("2016-08-26T18:30:40Z"),
+                Instant.parse("2016-08-26T18:30:50Z"),
+                Instant.parse("2016-08-26T18:31:00Z")));
+    }
+
+    @Test
+    public void emits_only_most_recent_ticks_that_demand_allows() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ticks.subscribe(subscriber);
+        subscriber.request(2);
+        clock.bumpSeconds(50);
+        assertThat(subscriber.ticks, contains(
+                Instant.parse("2016-08-26T18:30:40Z"),
+                Instant.parse("2016-08-26T18:30:50Z")));
+    }
+
+    @Test
+    public void subscribers_only_see_ticks_after_subscribing() throws Exception {
+        clock.bumpSeconds(25);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ticks.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        assertThat(subscriber.ticks, empty());
+        clock.bumpSeconds(5);
+        assertThat(subscriber.ticks, contains(Instant.parse("2016-08-26T18:30:30Z")));
+    }
+
+    @Test
+    public void cancelled_subscriber_receives_no_more_ticks() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ticks.subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.subscription.cancel();
+        clock.bumpSeconds(10);
+        assertThat(subscriber.ticks, empty());
+    }
+
+    @Test
+    public void completes_subscribers_when_closed() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ticks.subscribe(subscriber);
+        ticks.close();
+        assertThat(subscriber.completed, equalTo(true));
+        RecordingSubscriber late = new RecordingSubscriber();
+        ticks.subscribe(late);
+        assertThat(late.completed, equalTo(true));
+    }
+
+    @Test
+    public void signals_error_for_non_positive_request() throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ticks.subscribe(subscriber);
+        subscriber.request(0);
+        assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+        clock.bumpSeconds(10);
+        assertThat(subscriber.ticks, empty());
+    }
+
+    @Test
+    public void cancels_subscriber_that_throws_without_affecting_others() throws Exception {
+        RecordingSubscriber throwing = new RecordingSubscriber() {
+            @Override
+            public void onNext(Instant instant) {
+                super.onNext(instant);
+                throw new IllegalStateException("Subscriber failed");
+            }
+        };
+        RecordingSubscriber healthy = new RecordingSubscriber();
+        ticks.subscribe(throwing);
+        ticks.subscribe(healthy);
+        throwing.request(Long.MAX_VALUE);
+        healthy.request(Long.MAX_VALUE);
+        clock.bumpSeconds(10);
+        clock.bumpSeconds(10);
+        assertThat(throwing.ticks, contains(Instant.parse("2016-08-26T18:30:10Z")));
+        assertThat(healthy.ticks, contains(
+                Instant.parse("2016-08-26T18:30:10Z"),
+                Instant.parse("2016-08-26T18:30:20Z")));
+    }
+
+    @Test
+    public void keeps_polling_on_schedule_after_subscriber_throws() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try (Ticks scheduled = Ticks.scheduled(Clock.systemUTC(), Duration.ofMillis(1), executor)) {
+            CountDownLatch healthyTicks = new CountDownLatch(3);
+            RecordingSubscriber throwing = new RecordingSubscriber() {
+                @Override
+                public void onNext(Instant instant) {
+                    throw new IllegalStateException("Subscriber failed");
+                }
+            };
+            RecordingSubscriber healthy = new RecordingSubscriber() {
+                @Override
+                public void onNext(Instant instant) {
+                    healthyTicks.countDown();
+                }
+            };
+            scheduled.subscribe(throwing);
+            scheduled.subscribe(healthy);
+            throwing.request(Long.MAX_VALUE);
+            healthy.request(Long.MAX_VALUE);
+            assertThat(healthyTicks.await(10, TimeUnit.SECONDS), equalTo(true));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_sub_millisecond_period() throws Exception {
+        new Ticks(clock, Duration.ofNanos(1000));
+    }
+
+    private static class RecordingSubscriber implements Subscriber<Instant> {
+        final List<Instant> ticks = new ArrayList<>();
+        Subscription subscription;
+        boolean completed;
+        Throwable error;
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(Instant instant) {
+            ticks.add(instant);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.timgroup.clocks.timing.window;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.timgroup.clocks.testing.LatchableClock;
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class SlidingWindowCounterTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+
+    @Test
+    public void counts_events_in_window() throws Exception {
+        SlidingWindowCounter counter = SlidingWindowCounter.lastMinute(clock);
+        counter.increment();
+        counter.add(4);
+        assertThat(counter.sum(), equalTo(5L));
+        assertThat(counter.getWindowDuration(), equalTo(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    public void events_roll_out_of_window_exactly() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(clock, Duration.ofSeconds(1), 3);
+        counter.add(1);
+        clock.bumpSeconds(1);
+        counter.add(10);
+        clock.bumpSeconds(1);
+        counter.add(100);
+        assertThat(counter.sum(), equalTo(111L));
+        clock.bumpMillis(999);
+        assertThat(counter.sum(), equalTo(111L));
+        clock.bumpMillis(1);
+        assertThat(counter.sum(), equalTo(110L));
+        clock.bumpSeconds(1);
+        assertThat(counter.sum(), equalTo(100L));
+        clock.bumpSeconds(1);
+        assertThat(counter.sum(), equalTo(0L));
+    }
+
+    @Test
+    public void reuses_buckets_after_window_wraps() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(clock, Duration.ofSeconds(1), 3);
+        counter.add(5);
+        clock.bumpSeconds(3);
+        counter.add(7);
+        assertThat(counter.sum(), equalTo(7L));
+        clock.bumpSeconds(30);
+        assertThat(counter.sum(), equalTo(0L));
+    }
+
+    @Test
+    public void calculates_rate_per_second() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(clock, Duration.ofSeconds(1), 10);
+        counter.add(25);
+        assertThat(counter.ratePerSecond(), equalTo(2.5));
+    }
+
+    @Test
+    public void follows_latched_clock() throws Exception {
+        LatchableClock latchableClock = new LatchableClock(Clock.systemUTC(), Instant.parse("2016-08-26T18:30:00Z"), false);
+        SlidingWindowCounter counter = new SlidingWindowCounter(latchableClock, Duration.ofSeconds(1), 2);
+        counter.increment();
+        latchableClock.bumpSeconds(1);
+        counter.increment();
+        assertThat(counter.sum(), equalTo(2L));
+        latchableClock.bumpSeconds(1);
+        assertThat(counter.sum(), equalTo(1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_negative_delta() throws Exception {
+        SlidingWindowCounter.lastMinute(clock).add(-1);
+    }
+
+    @Test
+    public void counts_large_deltas_exactly() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(clock, Duration.ofSeconds(1), 3, 1);
+        long large = 1L << 40;
+        counter.add(large);
+        counter.add(large);
+        assertThat(counter.sum(), equalTo(2 * large));
+        clock.bumpSeconds(1);
+        counter.add(1);
+        assertThat(counter.sum(), equalTo(2 * large + 1));
+        clock.bumpSeconds(2);
+        assertThat(counter.sum(), equalTo(1L));
+    }
+
+    @Test
+    public void forgets_events_however_long_the_clock_was_idle() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(clock, Duration.ofSeconds(1), 4, 1);
+        counter.add(5);
+        clock.bumpSeconds(1 << 24);
+        assertThat(counter.sum(), equalTo(0L));
+        counter.add(7);
+        assertThat(counter.sum(), equalTo(7L));
+    }
+
+    @Test
+    public void counts_all_events_from_concurrent_writers() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(clock, Duration.ofSeconds(1), 60, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        counter.increment();
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+            assertThat(counter.sum(), equalTo(80_000L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
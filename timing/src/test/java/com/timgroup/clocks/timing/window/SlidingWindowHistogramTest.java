@@ -0,0 +1,66 @@
+package com.timgroup.clocks.timing.window;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import com.timgroup.clocks.testing.ManualClock;
+import org.junit.Test;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class SlidingWindowHistogramTest {
+    private final ManualClock clock = new ManualClock(Instant.parse("2016-08-26T18:30:00Z"), UTC);
+
+    @Test
+    public void counts_values_into_bins() throws Exception {
+        SlidingWindowHistogram histogram = new SlidingWindowHistogram(clock, Duration.ofSeconds(1), 10, new long[] { 10, 100, 1000 });
+        histogram.record(5);
+        histogram.record(10);
+        histogram.record(11);
+        histogram.record(1000);
+        histogram.record(5000);
+        assertThat(histogram.count(), equalTo(5L));
+        assertThat(histogram.countInBin(0), equalTo(2L));
+        assertThat(histogram.countInBin(1), equalTo(1L));
+        assertThat(histogram.countInBin(2), equalTo(1L));
+        assertThat(histogram.countInBin(3), equalTo(1L));
+    }
+
+    @Test
+    public void estimates_percentiles_from_bin_bounds() throws Exception {
+        SlidingWindowHistogram histogram = new SlidingWindowHistogram(clock, Duration.ofSeconds(1), 10, new long[] { 10, 100, 1000 });
+        for (int i = 0; i < 90; i++) {
+            histogram.record(1);
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(50);
+        }
+        histogram.record(5000);
+        assertThat(histogram.valueAtPercentile(50), equalTo(10L));
+        assertThat(histogram.valueAtPercentile(90), equalTo(10L));
+        assertThat(histogram.valueAtPercentile(99), equalTo(100L));
+        assertThat(histogram.valueAtPercentile(100), equalTo(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void values_roll_out_of_window() throws Exception {
+        SlidingWindowHistogram histogram = new SlidingWindowHistogram(clock, Duration.ofSeconds(1), 2, new long[] { 10, 100 });
+        histogram.record(50);
+        clock.bumpSeconds(1);
+        histogram.record(5);
+        assertThat(histogram.valueAtPercentile(100), equalTo(100L));
+        clock.bumpSeconds(1);
+        assertThat(histogram.count(), equalTo(1L));
+        assertThat(histogram.valueAtPercentile(100), equalTo(10L));
+        clock.bumpSeconds(1);
+        assertThat(histogram.count(), equalTo(0L));
+        assertThat(histogram.valueAtPercentile(50), equalTo(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void refuses_unsorted_bounds() throws Exception {
+        new SlidingWindowHistogram(clock, Duration.ofSeconds(1), 2, new long[] { 100, 10 });
+    }
+}